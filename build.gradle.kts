@@ -1,6 +1,7 @@
 plugins {
     application
     java
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -16,6 +17,10 @@ dependencies {
     implementation("io.github.cdimascio:dotenv-java:3.0.0")
     implementation("org.slf4j:slf4j-api:2.0.13")
     implementation("org.slf4j:slf4j-simple:2.0.13")
+
+    testImplementation(platform("org.junit:junit-bom:5.10.2"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 java {
@@ -26,6 +31,9 @@ java {
         main {
             java {
                 srcDirs("src")
+                // JMH benchmarks live in src/jmh/java and are compiled by the jmh source set,
+                // tests in src/test/java by the test source set
+                exclude("jmh/**", "test/**")
             }
         }
     }
@@ -39,4 +47,21 @@ tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
 }
 
+tasks.test {
+    useJUnitPlatform()
+}
 
+tasks.register<JavaExec>("decodeBenchmark") {
+    group = "verification"
+    description = "Compares allocation of tree-based and streaming response decoding."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("benchmarks.ResponseDecodingBenchmark")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    jvmArgsAppend.add("-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+}
@@ -1,4 +1,25 @@
-import com.fasterxml.jackson.databind.JsonNode;
+import journal.Journal;
+import journal.JournalState;
+import load.LoadGenerator;
+import metrics.CrossmintMetrics;
+import services.BulkPayout;
+import services.CrossmintService;
+import services.HttpClients;
+import services.KeypairService;
+import services.MessageSigner;
+import services.TransactionWatcher;
+import services.WalletProvisioner;
+import services.WebhookReceiver;
+import standin.CrossmintStandIn;
+import utils.Config;
+import utils.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 
 /**
  * Crossmint wallet integration demo
@@ -8,6 +29,23 @@ public class Main {
     private static final Logger logger = new Logger(Main.class);
 
     public static void main(String[] args) {
+        if (args.length > 0 && "provision".equals(args[0])) {
+            provision(args);
+            return;
+        }
+        if (args.length > 0 && "load".equals(args[0])) {
+            load(args);
+            return;
+        }
+        if (args.length > 0 && "payout".equals(args[0])) {
+            payout(args);
+            return;
+        }
+        if (args.length > 0 && "standin".equals(args[0])) {
+            standIn(args);
+            return;
+        }
+
         try {
         logger.info("Starting Crossmint Wallet Java Demo");
         logger.info("============================================================");
@@ -22,11 +60,9 @@ public class Main {
 
             // Step 2: Create wallet
             logger.info("Step 2/6: Creating wallet with Crossmint API");
-            var walletResp = crossmintService.createWallet(keypair.address);
-            
-            String walletLocator = extractWalletLocator(walletResp);
+            var wallet = crossmintService.createWallet(keypair.address);
 
-            var crossmintWalletAddress = walletResp.path("address").asText();
+            var crossmintWalletAddress = wallet.address();
             logger.info("Crossmint Wallet Address: {}", crossmintWalletAddress);
 
             // Step 3: Fund wallet
@@ -36,50 +72,59 @@ public class Main {
             }
             crossmintService.fundWallet(crossmintWalletAddress, Config.FUND_AMOUNT);
             
-            // Wait for funding to complete
+            // Continue as soon as the funds land
             logger.info("Waiting for funding to complete...");
-            Thread.sleep(2000);
-
-            // Step 4: Create transaction
-            logger.info("Step 4/6: Creating USDXM transfer transaction");
-            var txResp = crossmintService.createTransaction(
-                crossmintWalletAddress, 
-                Config.DEMO_RECIPIENT_ADDRESS, 
-                Config.DEMO_AMOUNT_USDXM
-            );
-            
-            var txId = txResp.path("id").asText();
-            logger.info("Transaction ID: {}", txId);
-
-            // Extract the message to sign from the response
-            var approvals = txResp.path("approvals").path("pending");
-            if (approvals.isArray() && approvals.size() > 0) {
-                var pendingApproval = approvals.get(0);
-                var messageToSign = pendingApproval.path("message").asText();
-                var signerLocator = pendingApproval.path("signer").path("locator").asText();
-
-                // Step 5: Sign message and approve transaction
-                logger.info("Step 5/6: Signing message and approving transaction");
-                var signature = keypairService.signMessageHash(messageToSign);
-                
-                crossmintService.approveTransaction(
+            crossmintService.awaitBalance(crossmintWalletAddress, CrossmintService.USDXM, Config.FUND_AMOUNT);
+
+            // Listen for webhooks before the transaction exists, so an early status event is not refused
+            try (var webhooks = startWebhooks();
+                 var watcher = webhooks != null
+                         ? new TransactionWatcher(crossmintService, webhooks,
+                                 Duration.ofSeconds(Config.WEBHOOK_FALLBACK_SECONDS))
+                         : null) {
+                // Step 4: Create transaction
+                logger.info("Step 4/6: Creating USDXM transfer transaction");
+                var txResp = crossmintService.createTransaction(
                     crossmintWalletAddress, 
-                    txId, 
-                    signerLocator, 
-                    signature
+                    Config.DEMO_RECIPIENT_ADDRESS, 
+                    Config.DEMO_AMOUNT_USDXM
                 );
+                
+                var txId = txResp.id();
+                logger.info("Transaction ID: {}", txId);
+                var result = watcher != null ? watcher.watch(crossmintWalletAddress, txId) : null;
 
-                // Step 6: Poll transaction result
-                logger.info("Step 6/6: Polling for transaction result");
-                var finalTx = crossmintService.pollTransaction(crossmintWalletAddress, txId, 5000, 60);
-                var finalStatus = finalTx.path("status").asText();
-                var txHash = finalTx.path("onChain").path("txId").asText();
+                // Extract the message to sign from the response
+                var approvals = txResp.pendingApprovals();
+                if (!approvals.isEmpty()) {
+                    var pendingApproval = approvals.get(0);
+                    var messageToSign = pendingApproval.message();
 
-                // Summary
-                displaySummary(keypair.address, crossmintWalletAddress, txId, finalStatus, txHash);
-                
-            } else {
-                throw new RuntimeException("No pending approvals found in transaction response");
+                    // Step 5: Sign message and approve transaction
+                    logger.info("Step 5/6: Signing message and approving transaction");
+                    var signature = keypairService.signMessageHash(messageToSign);
+                    
+                    crossmintService.approveTransaction(
+                        crossmintWalletAddress, 
+                        txId, 
+                        pendingApproval, 
+                        signature
+                    );
+
+                    // Step 6: Wait for the transaction result, from a webhook when configured, otherwise by polling
+                    logger.info("Step 6/6: Waiting for transaction result");
+                    var finalTx = result != null
+                            ? result.get()
+                            : crossmintService.pollTransaction(crossmintWalletAddress, txId, 5000, 60);
+                    var finalStatus = finalTx.status();
+                    var txHash = finalTx.txHash();
+
+                    // Summary
+                    displaySummary(keypair.address, crossmintWalletAddress, txId, finalStatus, txHash);
+                    
+                } else {
+                    throw new RuntimeException("No pending approvals found in transaction response");
+                }
             }
 
         } catch (Exception e) {
@@ -90,17 +135,223 @@ public class Main {
     }
 
     /**
-     * Extracts wallet locator from wallet response, trying multiple possible fields.
+     * Bulk mode: {@code provision <count> [output.csv]} creates and funds wallets through the
+     * {@link WalletProvisioner} pipeline and appends one CSV row per wallet as it finishes.
+     * With {@code PROVISION_JOURNAL} set, progress is journaled there and a re-run of the same batch resumes it.
      */
-    private static String extractWalletLocator(JsonNode walletResp) {
-        String walletLocator = walletResp.path("locator").asText();
-        if (walletLocator.isEmpty()) {
-            walletLocator = walletResp.path("id").asText();
+    private static void provision(String[] args) {
+        if (args.length < 2) {
+            logger.error("Usage: provision <count> [output.csv]");
+            System.exit(1);
         }
-        if (walletLocator.isEmpty()) {
-            walletLocator = walletResp.path("walletId").asText();
+        long count = Long.parseLong(args[1]);
+        Path output = Path.of(args.length > 2 ? args[2] : "wallets.csv");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(output)) {
+            writer.write("index,signer_address,private_key,wallet_address,failed_stage,error");
+            writer.newLine();
+            HttpClients.prewarm(HttpClients.shared(), Config.CROSSMINT_BASE_URL, Config.HTTP_PREWARM_CONNECTIONS,
+                    Duration.ofSeconds(10));
+            var crossmintService = new CrossmintService();
+            var provisioner = new WalletProvisioner(crossmintService);
+            Journal journal = null;
+            if (!Config.PROVISION_JOURNAL.isEmpty()) {
+                var recovered = new JournalState();
+                journal = Journal.open(Path.of(Config.PROVISION_JOURNAL), recovered);
+                provisioner.resumeFrom(journal, recovered);
+            }
+            var summary = provisioner.run(count, result -> {
+                try {
+                    writer.write(String.join(",", String.valueOf(result.index()), csv(result.signerAddress()),
+                            csv(result.privateKeyHex()), csv(result.walletAddress()), csv(result.failedStage()),
+                            csv(result.error())));
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            logger.info("Wrote {} wallets to {} ({} failed)", summary.succeeded(), output, summary.failed());
+            if (journal != null) {
+                logger.info("Journal: {} entries in {} syncs", journal.appended(), journal.syncs());
+                journal.close();
+            }
+            if (crossmintService.metrics() instanceof CrossmintMetrics metrics) {
+                System.out.println(metrics.dump());
+            }
+        } catch (Exception e) {
+            logger.error("Provisioning failed: {}", e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
         }
-        return walletLocator;
+    }
+
+    /**
+     * Load mode: {@code load [flows] [concurrency] [flows/s]} runs complete wallet flows concurrently through
+     * the {@link LoadGenerator}, reporting progress every {@code LOAD_REPORT_INTERVAL_SECONDS}.
+     * Arguments default to {@code LOAD_FLOWS}, {@code LOAD_CONCURRENCY} and {@code LOAD_RATE}.
+     * With {@code WEBHOOK_SECRET} set, transactions are tracked through the webhook receiver and polled only
+     * after {@code WEBHOOK_FALLBACK_SECONDS}; an embedded stand-in then sends its webhooks to that receiver.
+     */
+    private static void load(String[] args) {
+        var options = new LoadGenerator.Options(
+                args.length > 1 ? Long.parseLong(args[1]) : Config.LOAD_FLOWS,
+                args.length > 2 ? Integer.parseInt(args[2]) : Config.LOAD_CONCURRENCY,
+                args.length > 3 ? Double.parseDouble(args[3]) : Config.LOAD_RATE,
+                Duration.ofSeconds(Config.LOAD_REPORT_INTERVAL_SECONDS),
+                Config.FUND_AMOUNT,
+                Config.DEMO_RECIPIENT_ADDRESS,
+                Config.DEMO_AMOUNT_USDXM);
+
+        CrossmintStandIn standIn = null;
+        WebhookReceiver webhooks = null;
+        try {
+            String baseUrl = Config.CROSSMINT_BASE_URL;
+            if (!Config.WEBHOOK_SECRET.isEmpty()) {
+                webhooks = WebhookReceiver.start(Config.WEBHOOK_SECRET, Config.WEBHOOK_HOST, Config.WEBHOOK_PORT,
+                        Config.WEBHOOK_QUEUE_SIZE);
+            }
+            if (Config.LOAD_STANDIN) {
+                var settings = CrossmintStandIn.Settings.fromConfig();
+                if (webhooks != null) {
+                    settings = settings.withWebhooks(webhooks.url(), Config.WEBHOOK_SECRET);
+                }
+                standIn = CrossmintStandIn.start(settings, 0);
+                baseUrl = standIn.baseUrl();
+            }
+            var metrics = new CrossmintMetrics();
+            var crossmintService = new CrossmintService(HttpClients.shared(), baseUrl, Config.CROSSMINT_API_KEY, metrics);
+            try (var watcher = webhooks != null
+                    ? new TransactionWatcher(crossmintService, webhooks, Duration.ofSeconds(Config.WEBHOOK_FALLBACK_SECONDS))
+                    : new TransactionWatcher(crossmintService)) {
+                HttpClients.prewarm(HttpClients.shared(), baseUrl, Config.HTTP_PREWARM_CONNECTIONS,
+                        Duration.ofSeconds(10));
+                new LoadGenerator(crossmintService, watcher, options).run(System.out);
+                System.out.println(metrics.dump());
+            }
+            if (webhooks != null) {
+                logger.info("Webhooks: {} accepted, {} rejected, {} turned away when full",
+                        webhooks.accepted(), webhooks.rejected(), webhooks.overflowed());
+            }
+        } catch (Exception e) {
+            logger.error("Load run failed: {}", e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            if (standIn != null) {
+                standIn.close();
+            }
+            if (webhooks != null) {
+                webhooks.close();
+            }
+        }
+    }
+
+    /**
+     * Payout mode: {@code payout <recipients.csv|.ndjson> [results.csv]} streams the file through
+     * {@link BulkPayout}, {@code PAYOUT_CONCURRENCY} rows at a time, and appends one CSV row per transfer as it
+     * finishes. Pays from {@code PAYOUT_WALLET}, signed with {@code PAYOUT_SIGNER_KEY}, which must be the wallet's
+     * admin signer; without a wallet a new one is created and funded with {@code FUND_AMOUNT} first.
+     * {@code PAYOUT_BATCH_ID} pins the batch identity used for idempotency instead of the file's content hash.
+     * With {@code PAYOUT_JOURNAL} set, each transfer is journaled there and rows it shows as approved are not
+     * sent again.
+     */
+    private static void payout(String[] args) {
+        if (args.length < 2) {
+            logger.error("Usage: payout <recipients.csv|recipients.ndjson> [results.csv]");
+            System.exit(1);
+        }
+        if (!Config.PAYOUT_WALLET.isEmpty() && Config.PAYOUT_SIGNER_KEY.isEmpty()) {
+            logger.error("PAYOUT_SIGNER_KEY must be set to the admin signer key of PAYOUT_WALLET");
+            System.exit(1);
+        }
+        Path input = Path.of(args[1]);
+        Path output = Path.of(args.length > 2 ? args[2] : "payouts.csv");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(output)) {
+            writer.write("row,recipient,amount,transaction_id,status,deduplicated,failed_stage,error");
+            writer.newLine();
+            HttpClients.prewarm(HttpClients.shared(), Config.CROSSMINT_BASE_URL, Config.HTTP_PREWARM_CONNECTIONS,
+                    Duration.ofSeconds(10));
+            var crossmintService = new CrossmintService();
+            String wallet = Config.PAYOUT_WALLET;
+            MessageSigner signer;
+            if (wallet.isEmpty()) {
+                var keypairService = new KeypairService();
+                var keypair = keypairService.generateKeypair();
+                wallet = crossmintService.createWallet(keypair.address).address();
+                crossmintService.fundWallet(wallet, Config.FUND_AMOUNT);
+                crossmintService.awaitBalance(wallet, CrossmintService.USDXM, Config.FUND_AMOUNT);
+                logger.info("Paying out from new wallet {} (signer {})", wallet, keypair.address);
+                signer = keypairService.getSigner();
+            } else {
+                signer = MessageSigner.fromPrivateKeyHex(Config.PAYOUT_SIGNER_KEY);
+            }
+            var payout = new BulkPayout(crossmintService, wallet, signer).withBatchId(Config.PAYOUT_BATCH_ID);
+            Journal journal = null;
+            if (!Config.PAYOUT_JOURNAL.isEmpty()) {
+                var recovered = new JournalState();
+                journal = Journal.open(Path.of(Config.PAYOUT_JOURNAL), recovered);
+                payout.resumeFrom(journal, recovered);
+            }
+            var summary = payout.run(input, result -> {
+                try {
+                    writer.write(String.join(",", String.valueOf(result.row()), csv(result.recipient()),
+                            csv(result.amount()), csv(result.transactionId()), csv(result.status()),
+                            String.valueOf(result.deduplicated()), csv(result.failedStage()), csv(result.error())));
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            logger.info("Wrote {} payouts to {} ({} already paid, {} failed)", summary.succeeded(), output,
+                    summary.deduplicated(), summary.failed());
+            if (journal != null) {
+                logger.info("Journal: {} entries in {} syncs", journal.appended(), journal.syncs());
+                journal.close();
+            }
+            if (crossmintService.metrics() instanceof CrossmintMetrics metrics) {
+                System.out.println(metrics.dump());
+            }
+        } catch (Exception e) {
+            logger.error("Payout failed: {}", e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Stand-in mode: {@code standin [port]} serves the Crossmint endpoints locally with the latency, error
+     * injection and settlement delays from the {@code STANDIN_*} settings until the process is stopped.
+     * Point {@code CROSSMINT_BASE_URL} at it to run the demo, provisioning or load runs offline.
+     */
+    private static void standIn(String[] args) {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : Config.STANDIN_PORT;
+        try {
+            var standIn = CrossmintStandIn.start(CrossmintStandIn.Settings.fromConfig(), port);
+            Runtime.getRuntime().addShutdownHook(new Thread(standIn::close));
+            Thread.currentThread().join();
+        } catch (Exception e) {
+            logger.error("Stand-in failed: {}", e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Starts the webhook receiver when {@code WEBHOOK_SECRET} is set; the demo then waits for the result through
+     * it, falling back to polling after {@code WEBHOOK_FALLBACK_SECONDS}. Returns null otherwise, and the demo polls
+     * every 5 seconds.
+     */
+    private static WebhookReceiver startWebhooks() throws IOException {
+        if (Config.WEBHOOK_SECRET.isEmpty()) {
+            return null;
+        }
+        return WebhookReceiver.start(Config.WEBHOOK_SECRET, Config.WEBHOOK_HOST, Config.WEBHOOK_PORT,
+                Config.WEBHOOK_QUEUE_SIZE);
+    }
+
+    private static String csv(String value) {
+        return value == null ? "" : value.replace(',', ';').replace('\n', ' ');
     }
 
     /**
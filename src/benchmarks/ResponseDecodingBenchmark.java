@@ -0,0 +1,62 @@
+package benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import services.ResponseDecoder;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Before/after comparison of response decoding: the old {@code readTree(body.string())} + {@code path(...)}
+ * approach against {@link ResponseDecoder} reading the byte stream. Reports bytes allocated and time per decode.
+ * <p>
+ * Run with {@code ./gradlew decodeBenchmark}.
+ */
+public class ResponseDecodingBenchmark {
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    private interface Decode {
+        Object run(byte[] body) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        byte[] wallet = SampleResponses.WALLET_JSON.getBytes(StandardCharsets.UTF_8);
+        byte[] transaction = SampleResponses.TRANSACTION_JSON.getBytes(StandardCharsets.UTF_8);
+
+        measure("wallet      tree  ", wallet, body -> {
+            JsonNode node = mapper.readTree(new String(body, StandardCharsets.UTF_8));
+            return node.path("address").asText() + node.path("locator").asText();
+        });
+        measure("wallet      stream", wallet, body -> ResponseDecoder.readWallet(new ByteArrayInputStream(body)));
+        measure("transaction tree  ", transaction, body -> {
+            JsonNode node = mapper.readTree(new String(body, StandardCharsets.UTF_8));
+            JsonNode pending = node.path("approvals").path("pending").get(0);
+            return node.path("id").asText() + node.path("status").asText()
+                    + pending.path("message").asText() + pending.path("signer").path("locator").asText()
+                    + node.path("onChain").path("txId").asText();
+        });
+        measure("transaction stream", transaction, body -> ResponseDecoder.readTransaction(new ByteArrayInputStream(body)));
+    }
+
+    private static void measure(String name, byte[] body, Decode decode) throws Exception {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        Object sink = null;
+        for (int i = 0; i < WARMUP; i++) {
+            sink = decode.run(body);
+        }
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = decode.run(body);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.printf("%s  %8d B/op  %8.0f ns/op  (%s)%n",
+                name, allocated / ITERATIONS, (double) elapsed / ITERATIONS, sink.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,35 @@
+package benchmarks;
+
+/**
+ * Realistic Crossmint response bodies used by the benchmarks, shaped like staging responses.
+ */
+public final class SampleResponses {
+    public static final String WALLET_JSON = """
+            {"chainType":"evm","type":"smart","address":"0x8F3c2a7D4b1E6f9A0C5d8B2e7F4a1c6D9b3E0f2A",\
+            "owner":null,"config":{"adminSigner":{"type":"external-wallet",\
+            "address":"0x1b5D2E9c4A7f3B8e6C0d1F2a9E8b7C6d5A4f3E2b",\
+            "locator":"external-wallet:0x1b5D2E9c4A7f3B8e6C0d1F2a9E8b7C6d5A4f3E2b"}},\
+            "createdAt":"2025-06-09T12:00:00.000Z"}""";
+
+    public static final String TRANSACTION_JSON = """
+            {"id":"4e7c9a1b-2f3d-4c5e-8a6b-7d9e0f1a2b3c","walletType":"smart","chainType":"evm",\
+            "status":"awaiting-approval","createdAt":"2025-06-09T12:00:05.000Z","error":null,\
+            "approvals":{"pending":[{"signer":{"type":"external-wallet",\
+            "address":"0x1b5D2E9c4A7f3B8e6C0d1F2a9E8b7C6d5A4f3E2b",\
+            "locator":"external-wallet:0x1b5D2E9c4A7f3B8e6C0d1F2a9E8b7C6d5A4f3E2b"},\
+            "message":"0x5c9f3a1e7b2d4c6f8a0e1b3d5f7a9c2e4b6d8f0a1c3e5b7d9f2a4c6e8b0d1f3a"}],\
+            "submitted":[],"required":1},\
+            "params":{"chain":"base-sepolia","signer":"external-wallet:0x1b5D2E9c4A7f3B8e6C0d1F2a9E8b7C6d5A4f3E2b",\
+            "calls":[{"to":"0x14196F08a4Fa0B66B7331bC40dd6bCd8A1dEeA9F","value":"0",\
+            "data":"0xa9059cbb0000000000000000000000006671f7552df0fbaf762bd40aed1ca3ec670d616100000000000000000000000000000000000000000000000000000000000f4240"}]},\
+            "onChain":{"userOperation":{"sender":"0x8F3c2a7D4b1E6f9A0C5d8B2e7F4a1c6D9b3E0f2A","nonce":"0x1",\
+            "callData":"0xb61d27f600000000000000000000000014196f08a4fa0b66b7331bc40dd6bcd8a1deea9f000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000600000000000000000000000000000000000000000000000000000000000000044a9059cbb",\
+            "callGasLimit":"0x1a2b3","verificationGasLimit":"0x4c5d6","preVerificationGas":"0xe7f8",\
+            "maxFeePerGas":"0x3b9aca00","maxPriorityFeePerGas":"0x3b9aca00","paymaster":"0x0000000000000039cd5e8aE05257CE51C473ddd1",\
+            "paymasterData":"0x0000000000000000000000000000000000000000000000000000000000000000","signature":"0x"},\
+            "userOperationHash":"0x5c9f3a1e7b2d4c6f8a0e1b3d5f7a9c2e4b6d8f0a1c3e5b7d9f2a4c6e8b0d1f3a",\
+            "txId":"0x9a8b7c6d5e4f3a2b1c0d9e8f7a6b5c4d3e2f1a0b9c8d7e6f5a4b3c2d1e0f9a8b"}}""";
+
+    private SampleResponses() {
+    }
+}
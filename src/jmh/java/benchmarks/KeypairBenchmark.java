@@ -0,0 +1,93 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import services.KeypairGenerator;
+import services.KeypairService;
+import services.KeyVault;
+import services.MessageSigner;
+import services.SignatureVerifier;
+import utils.Hex;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Key generation, approval signing and local signature verification, per keypair and per signature.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class KeypairBenchmark {
+    private static final String MESSAGE_HEX = "0x5c9f3a1e7b2d4c6f8a0e1b3d5f7a9c2e4b6d8f0a1c3e5b7d9f2a4c6e8b0d1f3a";
+
+    private KeypairService keypairService;
+    private MessageSigner signer;
+    private String privateKeyHex;
+    private byte[] message;
+    private byte[] signature;
+    private KeyVault vault;
+    private String vaultAddress;
+    private byte[] signerAddress;
+    private byte[] vaultSignature;
+
+    @Setup
+    public void setup() {
+        keypairService = new KeypairService();
+        KeypairService.Keypair keypair = keypairService.generateKeypair();
+        privateKeyHex = keypair.privateKeyHex;
+        signer = keypairService.getSigner();
+        message = Hex.decode(MESSAGE_HEX);
+        signature = new byte[MessageSigner.SIGNATURE_LENGTH];
+        vault = new KeyVault(1024);
+        vaultAddress = vault.generate();
+        signerAddress = Hex.decode(vaultAddress);
+        vaultSignature = new byte[MessageSigner.SIGNATURE_LENGTH];
+        vault.sign(vaultAddress, message, vaultSignature, 0);
+    }
+
+    @Benchmark
+    public KeypairService.Keypair generateKeypair() {
+        return keypairService.generateKeypair();
+    }
+
+    @Benchmark
+    public KeypairService.Keypair generateKeypairThreadLocalRandom() {
+        return KeypairGenerator.generate();
+    }
+
+    @Benchmark
+    public String signMessage() {
+        return KeypairService.signMessage(MESSAGE_HEX, privateKeyHex);
+    }
+
+    @Benchmark
+    public byte[] signWithCachedKey() {
+        signer.sign(message, signature, 0);
+        return signature;
+    }
+
+    @Benchmark
+    public String generateIntoVault() {
+        if (vault.size() == vault.capacity()) {
+            vault.close();
+            vault = new KeyVault(1024);
+        }
+        return vault.generate();
+    }
+
+    @Benchmark
+    public byte[] signFromVault() {
+        vault.sign(vaultAddress, message, signature, 0);
+        return signature;
+    }
+
+    @Benchmark
+    public SignatureVerifier.Result verifySignature() {
+        return SignatureVerifier.verify(message, vaultSignature, 0, signerAddress, 0);
+    }
+}
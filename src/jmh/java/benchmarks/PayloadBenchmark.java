@@ -0,0 +1,91 @@
+package benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import services.RequestEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request payloads of each CrossmintService call: the previous ObjectNode building ({@code *Tree})
+ * against {@link RequestEncoder} templates ({@code *Template}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PayloadBenchmark {
+    private static final String ADDRESS = "0x1b5D2E9c4A7f3B8e6C0d1F2a9E8b7C6d5A4f3E2b";
+    private static final String RECIPIENT = "0x6671f7552df0fbAF762Bd40aEd1cA3ec670d6161";
+    private static final String SIGNER = "external-wallet:" + ADDRESS;
+    private static final String SIGNATURE = "0x" + "ab".repeat(65);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final RequestEncoder encoder = new RequestEncoder("base-sepolia");
+
+    @Benchmark
+    public String createWalletTree() {
+        ObjectNode adminSigner = mapper.createObjectNode();
+        adminSigner.put("type", "external-wallet");
+        adminSigner.put("address", ADDRESS);
+        ObjectNode config = mapper.createObjectNode();
+        config.set("adminSigner", adminSigner);
+        ObjectNode payload = mapper.createObjectNode();
+        payload.set("config", config);
+        payload.put("type", "smart");
+        payload.put("chainType", "evm");
+        return payload.toString();
+    }
+
+    @Benchmark
+    public byte[] createWalletTemplate() {
+        return encoder.createWallet(ADDRESS);
+    }
+
+    @Benchmark
+    public String fundWalletTree() {
+        ObjectNode payload = mapper.createObjectNode();
+        payload.put("amount", 10);
+        payload.put("token", "usdxm");
+        payload.put("chain", "base-sepolia");
+        return payload.toString();
+    }
+
+    @Benchmark
+    public byte[] fundWalletTemplate() {
+        return encoder.fundWallet(10);
+    }
+
+    @Benchmark
+    public String createTransactionTree() {
+        ObjectNode payload = mapper.createObjectNode();
+        payload.put("recipient", RECIPIENT);
+        payload.put("amount", "1");
+        return payload.toString();
+    }
+
+    @Benchmark
+    public byte[] createTransactionTemplate() {
+        return encoder.createTransaction(RECIPIENT, "1");
+    }
+
+    @Benchmark
+    public String approveTransactionTree() {
+        ObjectNode approval = mapper.createObjectNode();
+        approval.put("signer", SIGNER);
+        approval.put("signature", SIGNATURE);
+        ObjectNode payload = mapper.createObjectNode();
+        payload.set("approvals", mapper.createArrayNode().add(approval));
+        return payload.toString();
+    }
+
+    @Benchmark
+    public byte[] approveTransactionTemplate() {
+        return encoder.approveTransaction(SIGNER, SIGNATURE);
+    }
+}
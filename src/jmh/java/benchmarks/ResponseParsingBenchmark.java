@@ -0,0 +1,50 @@
+package benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import services.ResponseDecoder;
+import services.Transaction;
+import services.Wallet;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wallet and transaction response parsing: full tree ({@code *Tree}) against {@link ResponseDecoder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseParsingBenchmark {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final byte[] wallet = SampleResponses.WALLET_JSON.getBytes(StandardCharsets.UTF_8);
+    private final byte[] transaction = SampleResponses.TRANSACTION_JSON.getBytes(StandardCharsets.UTF_8);
+
+    @Benchmark
+    public JsonNode walletTree() throws IOException {
+        return mapper.readTree(new String(wallet, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public Wallet walletStream() throws IOException {
+        return ResponseDecoder.readWallet(new ByteArrayInputStream(wallet));
+    }
+
+    @Benchmark
+    public JsonNode transactionTree() throws IOException {
+        return mapper.readTree(new String(transaction, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public Transaction transactionStream() throws IOException {
+        return ResponseDecoder.readTransaction(new ByteArrayInputStream(transaction));
+    }
+}
@@ -0,0 +1,58 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import services.CrossmintService;
+import services.KeypairGenerator;
+import services.MessageSigner;
+import services.Transaction;
+import services.Wallet;
+import standin.CrossmintStandIn;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * createTransaction -> sign -> approveTransaction against an in-process {@link CrossmintStandIn} with no injected
+ * latency, so the result measures client-side cost (encoding, HTTP, decoding, signing) without network variance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RoundTripBenchmark {
+    private static final String RECIPIENT = "0x6671f7552df0fbAF762Bd40aEd1cA3ec670d6161";
+
+    private CrossmintStandIn standIn;
+    private CrossmintService crossmintService;
+    private MessageSigner signer;
+    private String wallet;
+
+    @Setup
+    public void setup() throws IOException {
+        standIn = CrossmintStandIn.start(CrossmintStandIn.Settings.instant(), 0);
+        crossmintService = new CrossmintService(standIn.baseUrl(), "benchmark-key", true);
+        var keypair = KeypairGenerator.generate();
+        signer = new MessageSigner(keypair.keyPair);
+        Wallet created = crossmintService.createWallet(keypair.address);
+        wallet = created.address();
+    }
+
+    @TearDown
+    public void tearDown() {
+        standIn.close();
+    }
+
+    @Benchmark
+    public Transaction createSignApprove() throws IOException {
+        Transaction tx = crossmintService.createTransaction(wallet, RECIPIENT, "1");
+        Transaction.PendingApproval approval = tx.pendingApprovals().get(0);
+        String signature = signer.signHex(approval.message());
+        return crossmintService.approveTransaction(wallet, tx.id(), approval.signerLocator(), signature);
+    }
+}
@@ -0,0 +1,431 @@
+package journal;
+
+import utils.Hex;
+import utils.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, crash-safe log of per-flow step transitions (keypair generated, wallet created, funded, transaction
+ * created, approved, terminal), so an interrupted batch can resume instead of starting over.
+ * <p>
+ * Appends are group-committed: callers copy their record into a shared buffer and get the future of the batch it
+ * landed in, while one flusher thread writes and {@code fsync}s whole batches. While one batch is being synced the
+ * next one fills up, so the fsync cost is shared by every record written in the meantime.
+ * <p>
+ * Format: a 4-byte magic, then records of {@code [int length][byte type][long flow][payload][int crc32c]}, where
+ * the CRC covers type, flow and payload. Keys and addresses are stored as raw bytes and other values as
+ * length-prefixed UTF-8. A torn or corrupt tail (a crash mid-write) ends replay and is truncated on open.
+ */
+public final class Journal implements AutoCloseable {
+    private static final Logger logger = new Logger(Journal.class);
+    private static final int MAGIC = 0x434D4A31; // "CMJ1"
+    private static final int HEADER_BYTES = 4;
+    private static final int MAX_RECORD_BYTES = 1 << 16;
+    private static final int MAX_BATCH_BYTES = 1 << 20;
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+    private static final int PRIVATE_KEY_BYTES = 32;
+    private static final int ADDRESS_BYTES = 20;
+
+    /**
+     * Step transitions, in the order a flow goes through them.
+     */
+    public enum Type {
+        /** value: private key hex, detail: signer address */
+        KEYPAIR,
+        /** value: wallet address */
+        WALLET_CREATED,
+        FUNDED,
+        /** value: transaction id */
+        TX_CREATED,
+        APPROVED,
+        /** value: status, detail: transaction hash */
+        TERMINAL;
+
+        private static final Type[] VALUES = values();
+    }
+
+    /**
+     * One step transition of flow {@code flow} (e.g. the wallet index in a batch). Unused values are null.
+     */
+    public record Entry(Type type, long flow, String value, String detail) {
+        public static Entry keypair(long flow, String privateKeyHex, String address) {
+            return new Entry(Type.KEYPAIR, flow, privateKeyHex, address);
+        }
+
+        public static Entry walletCreated(long flow, String walletAddress) {
+            return new Entry(Type.WALLET_CREATED, flow, walletAddress, null);
+        }
+
+        public static Entry funded(long flow) {
+            return new Entry(Type.FUNDED, flow, null, null);
+        }
+
+        public static Entry txCreated(long flow, String transactionId) {
+            return new Entry(Type.TX_CREATED, flow, transactionId, null);
+        }
+
+        public static Entry approved(long flow) {
+            return new Entry(Type.APPROVED, flow, null, null);
+        }
+
+        public static Entry terminal(long flow, String status, String txHash) {
+            return new Entry(Type.TERMINAL, flow, status, txHash);
+        }
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasPending = lock.newCondition();
+    private final Condition hasRoom = lock.newCondition();
+    private final Thread flusher;
+    private ByteBuffer pending = ByteBuffer.allocate(64 * 1024);
+    private ByteBuffer spare = ByteBuffer.allocate(64 * 1024);
+    private CompletableFuture<Void> pendingCommit = new CompletableFuture<>();
+    private IOException failure;
+    private boolean closed;
+    private long appended;
+    private long syncs;
+
+    private Journal(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+        flusher = Thread.ofPlatform().daemon().name("journal-flusher").start(this::flushLoop);
+    }
+
+    /**
+     * Opens (or creates) the journal at {@code path}, first passing every intact record to {@code replay} in
+     * append order. A torn tail left by a crash is cut off before new records are appended.
+     */
+    public static Journal open(Path path, Consumer<Entry> replay) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_BYTES) {
+                // new file, or a crash while the header was being written
+                channel.truncate(0);
+                channel.write(ByteBuffer.allocate(HEADER_BYTES).putInt(0, MAGIC), 0);
+                channel.force(true);
+            } else {
+                long start = System.nanoTime();
+                long[] count = new long[1];
+                long end = replay(channel, entry -> {
+                    count[0]++;
+                    replay.accept(entry);
+                });
+                if (end < channel.size()) {
+                    logger.warn("Journal {}: discarding {} bytes of incomplete records", path, channel.size() - end);
+                    channel.truncate(end);
+                    channel.force(true);
+                }
+                logger.info("Replayed {} journal entries from {} in {} ms", count[0], path,
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+            channel.position(channel.size());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return new Journal(path, channel);
+    }
+
+    /**
+     * Queues a record; the future completes once it is on disk, together with the rest of its batch.
+     */
+    public CompletableFuture<Void> append(Entry entry) {
+        ByteBuffer record = encode(entry);
+        lock.lock();
+        try {
+            while (pending.position() >= MAX_BATCH_BYTES && failure == null && !closed) {
+                hasRoom.awaitUninterruptibly();
+            }
+            if (failure != null) {
+                return CompletableFuture.failedFuture(failure);
+            }
+            if (closed) {
+                return CompletableFuture.failedFuture(new IOException("Journal " + path + " is closed"));
+            }
+            if (pending.remaining() < record.remaining()) {
+                pending = grow(pending, record.remaining());
+            }
+            pending.put(record);
+            appended++;
+            hasPending.signal();
+            // a copy, so one caller cancelling its future cannot affect the rest of the batch
+            return pendingCommit.copy();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a record and blocks until it is durable.
+     */
+    public void write(Entry entry) throws IOException, InterruptedException {
+        try {
+            append(entry).get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Records appended since open, and the fsyncs that made them durable; their ratio is the group commit size.
+     */
+    public long appended() {
+        lock.lock();
+        try {
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long syncs() {
+        lock.lock();
+        try {
+            return syncs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Makes every appended record durable and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            hasPending.signal();
+            hasRoom.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void flushLoop() {
+        while (true) {
+            ByteBuffer batch;
+            CompletableFuture<Void> commit;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !closed) {
+                    hasPending.awaitUninterruptibly();
+                }
+                if (pending.position() == 0) {
+                    return;
+                }
+                batch = pending;
+                pending = spare;
+                commit = pendingCommit;
+                pendingCommit = new CompletableFuture<>();
+                hasRoom.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                logger.error("Journal {} write failed: {}", path, e.getMessage());
+                lock.lock();
+                try {
+                    failure = e;
+                    pendingCommit.completeExceptionally(e);
+                    hasRoom.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                commit.completeExceptionally(e);
+                return;
+            }
+            batch.clear();
+            lock.lock();
+            try {
+                spare = batch;
+                syncs++;
+            } finally {
+                lock.unlock();
+            }
+            commit.complete(null);
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        int capacity = buffer.capacity();
+        while (capacity - buffer.position() < needed) {
+            capacity *= 2;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        return grown.put(buffer);
+    }
+
+    /**
+     * Encodes a complete record, length and checksum included, outside the append lock.
+     */
+    private static ByteBuffer encode(Entry entry) {
+        byte[] value = null;
+        byte[] detail = null;
+        int payload = switch (entry.type()) {
+            case KEYPAIR -> PRIVATE_KEY_BYTES + ADDRESS_BYTES;
+            case WALLET_CREATED, TX_CREATED -> 2 + (value = utf8(entry.value())).length;
+            case TERMINAL -> 4 + (value = utf8(entry.value())).length + (detail = utf8(entry.detail())).length;
+            case FUNDED, APPROVED -> 0;
+        };
+        int length = 1 + 8 + payload;
+        if (4 + length + 4 > MAX_RECORD_BYTES) {
+            // replay would take a longer record for a torn tail and truncate it along with everything after it
+            throw new IllegalArgumentException("Journal record too long: " + (4 + length + 4) + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(4 + length + 4);
+        buffer.putInt(length);
+        buffer.put((byte) entry.type().ordinal());
+        buffer.putLong(entry.flow());
+        switch (entry.type()) {
+            case KEYPAIR -> {
+                putHex(buffer, entry.value(), PRIVATE_KEY_BYTES);
+                putHex(buffer, entry.detail(), ADDRESS_BYTES);
+            }
+            case WALLET_CREATED, TX_CREATED -> putString(buffer, value);
+            case TERMINAL -> {
+                putString(buffer, value);
+                putString(buffer, detail);
+            }
+            case FUNDED, APPROVED -> {
+            }
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 4, length);
+        buffer.putInt((int) crc.getValue());
+        return buffer.flip();
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Journal value too long: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static void putHex(ByteBuffer buffer, String hex, int bytes) {
+        if (Hex.decodedLength(hex) != bytes) {
+            throw new IllegalArgumentException("Expected " + bytes + " bytes of hex, got " + hex);
+        }
+        Hex.decode(hex, buffer.array(), buffer.position());
+        buffer.position(buffer.position() + bytes);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Reads records from the start of the file until the end or the first incomplete or corrupt record, and
+     * returns the offset just past the last intact one.
+     */
+    private static long replay(FileChannel channel, Consumer<Entry> sink) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_BYTES);
+        channel.position(0);
+        readFully(channel, buffer.limit(HEADER_BYTES));
+        if (buffer.flip().remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a journal file (bad magic)");
+        }
+        buffer.clear().flip();
+        long valid = HEADER_BYTES;
+        CRC32C crc = new CRC32C();
+        byte[] scratch = new byte[MAX_RECORD_BYTES];
+        boolean eof = false;
+        while (true) {
+            if (buffer.remaining() >= 4) {
+                int length = buffer.getInt(buffer.position());
+                if (length < 9 || length > MAX_RECORD_BYTES - 8) {
+                    return valid;
+                }
+                if (buffer.remaining() >= 4 + length + 4) {
+                    buffer.get(scratch, 0, 4 + length + 4);
+                    crc.reset();
+                    crc.update(scratch, 4, length);
+                    if ((int) crc.getValue() != ByteBuffer.wrap(scratch, 4 + length, 4).getInt()) {
+                        return valid;
+                    }
+                    sink.accept(decode(ByteBuffer.wrap(scratch, 4, length)));
+                    valid += 4 + length + 4;
+                    continue;
+                }
+            }
+            if (eof) {
+                return valid;
+            }
+            buffer.compact();
+            eof = readFully(channel, buffer);
+            buffer.flip();
+        }
+    }
+
+    /**
+     * Fills {@code buffer} from the channel; returns true if the end of the file was reached.
+     */
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Entry decode(ByteBuffer body) throws IOException {
+        int ordinal = body.get();
+        if (ordinal < 0 || ordinal >= Type.VALUES.length) {
+            throw new IOException("Unknown journal record type " + ordinal);
+        }
+        Type type = Type.VALUES[ordinal];
+        long flow = body.getLong();
+        return switch (type) {
+            case KEYPAIR -> {
+                String privateKey = Hex.toPrefixedHex(body.array(), body.position(), PRIVATE_KEY_BYTES);
+                String address = Hex.toPrefixedHex(body.array(), body.position() + PRIVATE_KEY_BYTES, ADDRESS_BYTES);
+                yield Entry.keypair(flow, privateKey, address);
+            }
+            case WALLET_CREATED -> Entry.walletCreated(flow, getString(body));
+            case FUNDED -> Entry.funded(flow);
+            case TX_CREATED -> Entry.txCreated(flow, getString(body));
+            case APPROVED -> Entry.approved(flow);
+            case TERMINAL -> Entry.terminal(flow, getString(body), getString(body));
+        };
+    }
+
+    private static String getString(ByteBuffer body) {
+        int length = Short.toUnsignedInt(body.getShort());
+        String value = new String(body.array(), body.position(), length, StandardCharsets.UTF_8);
+        body.position(body.position() + length);
+        return value;
+    }
+}
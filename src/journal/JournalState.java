@@ -0,0 +1,96 @@
+package journal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Latest recorded state of every flow in a journal, rebuilt by passing it to {@link Journal#open} as the
+ * replay consumer. Not thread-safe: fill it during replay, then only read it.
+ */
+public final class JournalState implements Consumer<Journal.Entry> {
+    private final Map<Long, Flow> flows = new HashMap<>();
+
+    /**
+     * What is known about one flow; fields of steps that have not happened yet are null.
+     */
+    public static final class Flow {
+        private Journal.Type last;
+        private String privateKeyHex;
+        private String signerAddress;
+        private String walletAddress;
+        private boolean funded;
+        private String transactionId;
+        private boolean approved;
+        private String status;
+        private String txHash;
+
+        /** Most recent step recorded for the flow. */
+        public Journal.Type last() {
+            return last;
+        }
+
+        public String privateKeyHex() {
+            return privateKeyHex;
+        }
+
+        public String signerAddress() {
+            return signerAddress;
+        }
+
+        public String walletAddress() {
+            return walletAddress;
+        }
+
+        public boolean funded() {
+            return funded;
+        }
+
+        public String transactionId() {
+            return transactionId;
+        }
+
+        public boolean approved() {
+            return approved;
+        }
+
+        public String status() {
+            return status;
+        }
+
+        public String txHash() {
+            return txHash;
+        }
+    }
+
+    @Override
+    public void accept(Journal.Entry entry) {
+        Flow flow = flows.computeIfAbsent(entry.flow(), k -> new Flow());
+        flow.last = entry.type();
+        switch (entry.type()) {
+            case KEYPAIR -> {
+                flow.privateKeyHex = entry.value();
+                flow.signerAddress = entry.detail();
+            }
+            case WALLET_CREATED -> flow.walletAddress = entry.value();
+            case FUNDED -> flow.funded = true;
+            case TX_CREATED -> flow.transactionId = entry.value();
+            case APPROVED -> flow.approved = true;
+            case TERMINAL -> {
+                flow.status = entry.value();
+                flow.txHash = entry.detail();
+            }
+        }
+    }
+
+    /**
+     * The recorded state of {@code flow}, or null if the journal has nothing for it.
+     */
+    public Flow flow(long flow) {
+        return flows.get(flow);
+    }
+
+    public int size() {
+        return flows.size();
+    }
+}
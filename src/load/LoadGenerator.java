@@ -0,0 +1,221 @@
+package load;
+
+import metrics.LatencyHistogram;
+import services.CrossmintApiException;
+import services.CrossmintService;
+import services.InvalidSignatureException;
+import services.KeyVault;
+import services.Transaction;
+import services.TransactionWatcher;
+import services.Wallet;
+import utils.Logger;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs many end-to-end wallet flows (keygen, create, fund, transfer, sign, approve, poll) concurrently on
+ * virtual threads and reports throughput, per-step latency percentiles and errors, both periodically and at
+ * the end. Flows start as fast as the concurrency cap allows, or paced at a target rate.
+ * Signer keys live in an off-heap {@link KeyVault} sized to the concurrency and are wiped when their flow ends.
+ */
+public class LoadGenerator {
+    private static final Logger logger = new Logger(LoadGenerator.class);
+
+    /**
+     * Steps of one flow, timed separately.
+     */
+    public enum Step { KEYGEN, CREATE_WALLET, FUND, TRANSFER, SIGN, APPROVE, POLL, FLOW }
+
+    /**
+     * @param flows          total flows to run
+     * @param concurrency    maximum flows in flight
+     * @param ratePerSecond  flow start rate; 0 or less starts flows as soon as a slot is free
+     * @param reportInterval period of the progress report
+     */
+    public record Options(long flows, int concurrency, double ratePerSecond, Duration reportInterval,
+                          String fundAmount, String recipient, String amount) {
+    }
+
+    private final CrossmintService crossmintService;
+    private final TransactionWatcher watcher;
+    private final Options options;
+    private final KeyVault signers;
+    private final LatencyHistogram[] latencies = new LatencyHistogram[Step.values().length];
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLong lastCompleted = new AtomicLong();
+
+    public LoadGenerator(CrossmintService crossmintService, TransactionWatcher watcher, Options options) {
+        this.crossmintService = crossmintService;
+        this.watcher = watcher;
+        this.options = options;
+        this.signers = new KeyVault(options.concurrency());
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Runs all flows and prints the final report to {@code out}; blocks until every flow has finished.
+     */
+    public void run(PrintStream out) throws InterruptedException {
+        logger.info("Load run: {} flows, concurrency {}, rate {}/s", options.flows(), options.concurrency(),
+                options.ratePerSecond() > 0 ? options.ratePerSecond() : "unbounded");
+        Semaphore slots = new Semaphore(options.concurrency());
+        long start = System.nanoTime();
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "load-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        long intervalMs = options.reportInterval().toMillis();
+        reporter.scheduleAtFixedRate(() -> progress(out, start, options.concurrency() - slots.availablePermits()),
+                intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+        try (var flows = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("load-flow-", 0).factory())) {
+            for (long i = 0; i < options.flows(); i++) {
+                if (options.ratePerSecond() > 0) {
+                    long due = start + (long) (i * 1e9 / options.ratePerSecond());
+                    long wait = due - System.nanoTime();
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    }
+                }
+                slots.acquire();
+                flows.execute(() -> {
+                    try {
+                        flow();
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        } finally {
+            reporter.shutdownNow();
+            signers.close();
+        }
+        report(out, System.nanoTime() - start);
+    }
+
+    private void flow() {
+        long flowStart = System.nanoTime();
+        Step step = Step.KEYGEN;
+        String signer = null;
+        try {
+            long t = System.nanoTime();
+            signer = signers.generate();
+            t = record(Step.KEYGEN, t);
+
+            step = Step.CREATE_WALLET;
+            Wallet wallet = crossmintService.createWallet(signer);
+            t = record(Step.CREATE_WALLET, t);
+
+            step = Step.FUND;
+            crossmintService.fundWallet(wallet.address(), options.fundAmount());
+            crossmintService.awaitBalance(wallet.address(), CrossmintService.USDXM, options.fundAmount());
+            t = record(Step.FUND, t);
+
+            step = Step.TRANSFER;
+            Transaction tx = crossmintService.createTransaction(wallet.address(), options.recipient(), options.amount());
+            if (tx.pendingApprovals().isEmpty()) {
+                throw new IllegalStateException("No pending approvals found in transaction response");
+            }
+            Transaction.PendingApproval approval = tx.pendingApprovals().get(0);
+            t = record(Step.TRANSFER, t);
+
+            step = Step.SIGN;
+            String signature = signers.signHex(signer, approval.message());
+            t = record(Step.SIGN, t);
+
+            step = Step.APPROVE;
+            crossmintService.approveTransaction(wallet.address(), tx.id(), approval, signature);
+            t = record(Step.APPROVE, t);
+
+            step = Step.POLL;
+            Transaction result = watcher.watch(wallet.address(), tx.id()).get();
+            record(Step.POLL, t);
+            if (!"success".equals(result.status()) && !"completed".equals(result.status())) {
+                throw new IllegalStateException("status " + result.status());
+            }
+
+            latencies[Step.FLOW.ordinal()].record(System.nanoTime() - flowStart);
+            succeeded.increment();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            failed.increment();
+            errors.computeIfAbsent(step + " " + describe(e), k -> new LongAdder()).increment();
+        } finally {
+            if (signer != null) {
+                signers.remove(signer);
+            }
+        }
+    }
+
+    private long record(Step step, long since) {
+        long now = System.nanoTime();
+        latencies[step.ordinal()].record(now - since);
+        return now;
+    }
+
+    private static String describe(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+        if (e instanceof CrossmintApiException api) {
+            return "HTTP " + api.statusCode();
+        }
+        if (e instanceof InvalidSignatureException invalid) {
+            return "signature " + invalid.result();
+        }
+        if (e instanceof IllegalStateException && e.getMessage() != null) {
+            return e.getMessage();
+        }
+        return e.getClass().getSimpleName();
+    }
+
+    private void progress(PrintStream out, long start, int inFlight) {
+        long completed = succeeded.sum() + failed.sum();
+        long sinceLast = completed - lastCompleted.getAndSet(completed);
+        double intervalSeconds = options.reportInterval().toMillis() / 1000.0;
+        LatencyHistogram.Summary flow = latencies[Step.FLOW.ordinal()].summary();
+        out.printf("[%6.1fs] completed %d (%d failed), in flight %d, %.1f flows/s, flow p50 %.0f ms p99 %.0f ms%n",
+                (System.nanoTime() - start) / 1e9, completed, failed.sum(), inFlight, sinceLast / intervalSeconds,
+                flow.p50() / 1e6, flow.p99() / 1e6);
+    }
+
+    private void report(PrintStream out, long elapsedNanos) {
+        long completed = succeeded.sum() + failed.sum();
+        out.println();
+        out.println("=".repeat(60));
+        out.println("LOAD SUMMARY");
+        out.println("=".repeat(60));
+        out.printf("Flows: %d succeeded, %d failed in %.1f s (%.2f flows/s)%n",
+                succeeded.sum(), failed.sum(), elapsedNanos / 1e9, completed / (elapsedNanos / 1e9));
+        out.printf("%-14s %8s %10s %10s %10s %10s %10s%n", "step (ms)", "count", "mean", "p50", "p99", "p99.9", "max");
+        for (Step step : Step.values()) {
+            LatencyHistogram.Summary s = latencies[step.ordinal()].summary();
+            out.printf("%-14s %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n", step, s.count(), s.mean() / 1e6,
+                    s.p50() / 1e6, s.p99() / 1e6, s.p999() / 1e6, s.max() / 1e6);
+        }
+        if (!errors.isEmpty()) {
+            out.println("Errors:");
+            new TreeMap<>(errors).forEach((error, count) -> out.printf("  %-40s %d%n", error, count.sum()));
+        }
+        out.println("=".repeat(60));
+    }
+}
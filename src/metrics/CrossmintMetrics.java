@@ -0,0 +1,153 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory {@link Metrics}: per-endpoint latency and phase histograms, status-code counts, bytes in/out,
+ * failures, retries and poll attempts. Everything is preallocated per endpoint, so recording never allocates.
+ * {@link #snapshot()} and {@link #dump()} read the current values for scraping.
+ */
+public final class CrossmintMetrics implements Metrics {
+    private static final int MAX_STATUS = 600;
+
+    private final Stats[] stats;
+
+    /**
+     * Counters of one endpoint at the time of the snapshot; latencies are in nanoseconds.
+     */
+    public record EndpointSnapshot(Endpoint endpoint, long calls, long failures, Map<Integer, Long> statusCounts,
+                                   long bytesOut, long bytesIn, long retries, long pollAttempts,
+                                   LatencyHistogram.Summary latency, Map<Phase, LatencyHistogram.Summary> phases) {
+    }
+
+    public CrossmintMetrics() {
+        stats = new Stats[Endpoint.values().length];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new Stats();
+        }
+    }
+
+    @Override
+    public void recordCall(Endpoint endpoint, int statusCode, long latencyNanos, long bytesOut, long bytesIn) {
+        Stats s = stats[endpoint.ordinal()];
+        s.latency.record(latencyNanos);
+        s.statusCounts.incrementAndGet(statusCode >= 0 && statusCode < MAX_STATUS ? statusCode : 0);
+        s.bytesOut.add(bytesOut);
+        s.bytesIn.add(bytesIn);
+    }
+
+    @Override
+    public void recordFailure(Endpoint endpoint, long latencyNanos) {
+        Stats s = stats[endpoint.ordinal()];
+        s.latency.record(latencyNanos);
+        s.failures.increment();
+    }
+
+    @Override
+    public void recordPhase(Endpoint endpoint, Phase phase, long nanos) {
+        stats[endpoint.ordinal()].phases[phase.ordinal()].record(nanos);
+    }
+
+    @Override
+    public void recordRetry(Endpoint endpoint) {
+        stats[endpoint.ordinal()].retries.increment();
+    }
+
+    @Override
+    public void recordPollAttempt(Endpoint endpoint) {
+        stats[endpoint.ordinal()].pollAttempts.increment();
+    }
+
+    public List<EndpointSnapshot> snapshot() {
+        List<EndpointSnapshot> snapshot = new ArrayList<>(stats.length);
+        for (Endpoint endpoint : Endpoint.values()) {
+            Stats s = stats[endpoint.ordinal()];
+            Map<Integer, Long> statusCounts = new TreeMap<>();
+            long calls = 0;
+            for (int code = 0; code < MAX_STATUS; code++) {
+                long count = s.statusCounts.get(code);
+                if (count != 0) {
+                    statusCounts.put(code, count);
+                    calls += count;
+                }
+            }
+            Map<Phase, LatencyHistogram.Summary> phases = new EnumMap<>(Phase.class);
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = s.phases[phase.ordinal()];
+                if (histogram.count() != 0) {
+                    phases.put(phase, histogram.summary());
+                }
+            }
+            snapshot.add(new EndpointSnapshot(endpoint, calls, s.failures.sum(), statusCounts,
+                    s.bytesOut.sum(), s.bytesIn.sum(), s.retries.sum(), s.pollAttempts.sum(),
+                    s.latency.summary(), phases));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Current values in Prometheus text exposition format (latencies in seconds, summaries as quantiles).
+     * Endpoints without any traffic are omitted.
+     */
+    public String dump() {
+        StringBuilder out = new StringBuilder(4096);
+        for (EndpointSnapshot s : snapshot()) {
+            if (s.calls() == 0 && s.failures() == 0 && s.pollAttempts() == 0) {
+                continue;
+            }
+            String labels = "endpoint=\"" + s.endpoint().label() + "\"";
+            s.statusCounts().forEach((code, count) ->
+                    line(out, "crossmint_requests_total", labels + ",code=\"" + code + "\"", count));
+            line(out, "crossmint_request_failures_total", labels, s.failures());
+            line(out, "crossmint_request_bytes_total", labels, s.bytesOut());
+            line(out, "crossmint_response_bytes_total", labels, s.bytesIn());
+            line(out, "crossmint_retries_total", labels, s.retries());
+            line(out, "crossmint_poll_attempts_total", labels, s.pollAttempts());
+            summary(out, "crossmint_request_seconds", labels, s.latency());
+            s.phases().forEach((phase, summary) -> summary(out, "crossmint_phase_seconds",
+                    labels + ",phase=\"" + phase.name().toLowerCase() + "\"", summary));
+        }
+        return out.toString();
+    }
+
+    private static void summary(StringBuilder out, String name, String labels, LatencyHistogram.Summary summary) {
+        quantile(out, name, labels, "0.5", summary.p50());
+        quantile(out, name, labels, "0.9", summary.p90());
+        quantile(out, name, labels, "0.99", summary.p99());
+        quantile(out, name, labels, "0.999", summary.p999());
+        out.append(name).append("_count{").append(labels).append("} ").append(summary.count()).append('\n');
+        out.append(name).append("_max{").append(labels).append("} ").append(summary.max() / 1e9).append('\n');
+    }
+
+    private static void quantile(StringBuilder out, String name, String labels, String quantile, long nanos) {
+        out.append(name).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                .append(nanos / 1e9).append('\n');
+    }
+
+    private static void line(StringBuilder out, String name, String labels, long value) {
+        out.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+
+    private static final class Stats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LatencyHistogram[] phases = new LatencyHistogram[Phase.values().length];
+        final AtomicLongArray statusCounts = new AtomicLongArray(MAX_STATUS);
+        final LongAdder failures = new LongAdder();
+        final LongAdder bytesOut = new LongAdder();
+        final LongAdder bytesIn = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder pollAttempts = new LongAdder();
+
+        Stats() {
+            for (int i = 0; i < phases.length; i++) {
+                phases[i] = new LatencyHistogram();
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package metrics;
+
+/**
+ * Crossmint operations metrics are broken down by. Requests carry their endpoint as an OkHttp tag.
+ */
+public enum Endpoint {
+    CREATE_WALLET("create_wallet"),
+    GET_WALLET("get_wallet"),
+    FUND_WALLET("fund_wallet"),
+    CREATE_TRANSACTION("create_transaction"),
+    APPROVE_TRANSACTION("approve_transaction"),
+    GET_TRANSACTION("get_transaction"),
+    GET_BALANCE("get_balance");
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Name used in metric dumps.
+     */
+    public String label() {
+        return label;
+    }
+}
@@ -0,0 +1,117 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear latency histogram in the style of HdrHistogram.
+ * Values below 256 get exact buckets; above that every power of two is split into 128 linear sub-buckets,
+ * which bounds the relative error of any reported percentile to under 1%. {@link #record(long)} is a few
+ * atomic increments and never allocates. Values above ~18 minutes (2^40 ns) are clamped into the last bucket.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF = SUB_BUCKETS >> 1;
+    private static final int MAX_BIT = 40;
+    private static final int BUCKETS = (MAX_BIT - SUB_BUCKET_BITS + 1) * HALF + SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Point-in-time view of a histogram; latencies are in nanoseconds.
+     */
+    public record Summary(long count, double mean, long max, long p50, long p90, long p99, long p999) {
+        public static final Summary EMPTY = new Summary(0, 0, 0, 0, 0, 0, 0);
+    }
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(index(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    /**
+     * Value at or below which {@code percentile} percent of the recorded values fall (upper bound of its bucket).
+     */
+    public long percentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public Summary summary() {
+        long total = count.get();
+        if (total == 0) {
+            return Summary.EMPTY;
+        }
+        return new Summary(total, (double) sum.get() / total, max.get(),
+                percentile(50), percentile(90), percentile(99), percentile(99.9));
+    }
+
+    /**
+     * Adds every recorded value of {@code other} to this histogram.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = other.counts.get(i);
+            if (c != 0) {
+                counts.addAndGet(i, c);
+            }
+        }
+        count.addAndGet(other.count.get());
+        sum.addAndGet(other.sum.get());
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        if (highestBit > MAX_BIT) {
+            return BUCKETS - 1;
+        }
+        int shift = highestBit - SUB_BUCKET_BITS + 1;
+        return shift * HALF + (int) (value >>> shift);
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / HALF - 1;
+        long mantissa = index - (long) shift * HALF;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
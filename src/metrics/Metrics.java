@@ -0,0 +1,58 @@
+package metrics;
+
+/**
+ * Sink for Crossmint client measurements. Implementations are called on request threads and must be
+ * thread-safe and cheap; {@link CrossmintMetrics} is the built-in one, {@link #NOOP} disables recording.
+ */
+public interface Metrics {
+
+    /**
+     * Parts of a call timed separately, so slow flows can be attributed to the network, the server or the client.
+     */
+    enum Phase {
+        /** DNS resolution. */
+        DNS,
+        /** TCP connect, including TLS. */
+        CONNECT,
+        /** TLS handshake. */
+        TLS,
+        /** Writing request headers and body. */
+        REQUEST,
+        /** From the request being sent to the first response byte: server time plus one round trip. */
+        SERVER,
+        /** Reading response headers and body; the body is decoded as it streams in, so this overlaps DECODE. */
+        RESPONSE,
+        /** Decoding the response body into records, measured around the decoder. */
+        DECODE
+    }
+
+    Metrics NOOP = new Metrics() {
+    };
+
+    /**
+     * A completed HTTP exchange: final status code, end-to-end latency and bytes on the wire.
+     */
+    default void recordCall(Endpoint endpoint, int statusCode, long latencyNanos, long bytesOut, long bytesIn) {
+    }
+
+    /**
+     * A call that failed without a response (I/O error, timeout, cancellation).
+     */
+    default void recordFailure(Endpoint endpoint, long latencyNanos) {
+    }
+
+    default void recordPhase(Endpoint endpoint, Phase phase, long nanos) {
+    }
+
+    /**
+     * A request re-sent after a failed or throttled attempt.
+     */
+    default void recordRetry(Endpoint endpoint) {
+    }
+
+    /**
+     * One status poll of a pending transaction.
+     */
+    default void recordPollAttempt(Endpoint endpoint) {
+    }
+}
@@ -0,0 +1,127 @@
+package metrics;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+/**
+ * OkHttp listener timing each phase of a call and reporting it to {@link Metrics} under the
+ * {@link Endpoint} tag of the request. Calls without an endpoint tag are ignored.
+ * OkHttp creates one listener per call; beyond that object the listener only keeps primitive timestamps.
+ */
+public final class MetricsEventListener extends EventListener {
+    private final Metrics metrics;
+    private final Endpoint endpoint;
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long tlsStart;
+    private long requestStart;
+    private long requestEnd;
+    private long responseStart;
+    private long bytesOut;
+    private long bytesIn;
+    private int statusCode;
+
+    private MetricsEventListener(Metrics metrics, Endpoint endpoint) {
+        this.metrics = metrics;
+        this.endpoint = endpoint;
+    }
+
+    public static EventListener.Factory factory(Metrics metrics) {
+        return call -> {
+            Endpoint endpoint = call.request().tag(Endpoint.class);
+            return endpoint == null || metrics == Metrics.NOOP ? EventListener.NONE : new MetricsEventListener(metrics, endpoint);
+        };
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        metrics.recordPhase(endpoint, Metrics.Phase.DNS, System.nanoTime() - dnsStart);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        tlsStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        metrics.recordPhase(endpoint, Metrics.Phase.TLS, System.nanoTime() - tlsStart);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        metrics.recordPhase(endpoint, Metrics.Phase.CONNECT, System.nanoTime() - connectStart);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStart = System.nanoTime();
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        requestEnd = System.nanoTime();
+        bytesOut += request.headers().byteCount();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestEnd = System.nanoTime();
+        bytesOut += byteCount;
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        responseStart = System.nanoTime();
+        metrics.recordPhase(endpoint, Metrics.Phase.REQUEST, requestEnd - requestStart);
+        metrics.recordPhase(endpoint, Metrics.Phase.SERVER, responseStart - requestEnd);
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        statusCode = response.code();
+        bytesIn += response.headers().byteCount();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        bytesIn += byteCount;
+        metrics.recordPhase(endpoint, Metrics.Phase.RESPONSE, System.nanoTime() - responseStart);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        metrics.recordCall(endpoint, statusCode, System.nanoTime() - callStart, bytesOut, bytesIn);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        metrics.recordFailure(endpoint, System.nanoTime() - callStart);
+    }
+}
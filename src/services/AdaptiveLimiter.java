@@ -0,0 +1,131 @@
+package services;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limiter: caps in-flight requests at a limit that grows by one per window of successful
+ * responses and shrinks multiplicatively when the server signals overload (429, 503, timeouts).
+ * This keeps the request rate just below what the server accepts instead of alternating between overload and
+ * idle. Decreases are spaced by a cooldown so one burst of 429s counts as a single congestion event.
+ */
+public final class AdaptiveLimiter {
+    private static final double BACKOFF_RATIO = 0.8;
+    private static final long COOLDOWN_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    /**
+     * How a request that held a permit ended.
+     */
+    public enum Outcome {
+        /** Server handled the request; counts towards growing the limit. */
+        SUCCESS,
+        /** Server is overloaded; shrinks the limit. */
+        OVERLOAD,
+        /** Says nothing about server capacity (e.g. connection reset, cancellation). */
+        IGNORE
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private long lastDecrease;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.lastDecrease = System.nanoTime() - COOLDOWN_NANOS;
+    }
+
+    /**
+     * Waits until a request may start. Every successful call must be paired with {@link #release(Outcome)}.
+     */
+    public void acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                available.await();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Like {@link #acquire()}, but gives up after {@code timeout}, so callers can check for cancellation while
+     * they wait.
+     *
+     * @return true if a permit was taken
+     */
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = available.awaitNanos(nanos);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(Outcome outcome) {
+        lock.lock();
+        try {
+            inFlight--;
+            int before = (int) limit;
+            switch (outcome) {
+                case SUCCESS -> {
+                    // only grow while the current limit is actually being used
+                    if (inFlight + 1 >= before / 2) {
+                        limit = Math.min(maxLimit, limit + 1.0 / limit);
+                    }
+                }
+                case OVERLOAD -> {
+                    long now = System.nanoTime();
+                    if (now - lastDecrease >= COOLDOWN_NANOS) {
+                        limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                        lastDecrease = now;
+                    }
+                }
+                case IGNORE -> {
+                }
+            }
+            if ((int) limit > before) {
+                available.signalAll();
+            } else {
+                available.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package services;
+
+import org.bouncycastle.crypto.digests.KeccakDigest;
+
+/**
+ * Validates EVM addresses and produces their EIP-55 checksummed form without allocating: the decoded bytes, the
+ * keccak digest and the checksummed characters all live in buffers owned by the parser and reused on every call.
+ * All-lowercase and all-uppercase addresses carry no checksum and are accepted; mixed-case ones must match their
+ * EIP-55 checksum. The zero address is rejected, since a transfer there burns the funds.
+ * <p>
+ * Not thread-safe; use one parser per thread. Results are valid until the next {@link #parse}.
+ */
+public final class AddressParser {
+    public static final int LENGTH = 42;
+    private static final int BYTES = 20;
+
+    /**
+     * Why the last {@link #parse} failed.
+     */
+    public enum Problem { LENGTH, PREFIX, NOT_HEX, CHECKSUM, ZERO }
+
+    private final KeccakDigest digest = new KeccakDigest(256);
+    private final byte[] address = new byte[BYTES];
+    private final byte[] lowerHex = new byte[2 * BYTES];
+    private final byte[] hash = new byte[32];
+    private final char[] checksummed = new char[LENGTH];
+    private Problem problem;
+
+    public AddressParser() {
+        checksummed[0] = '0';
+        checksummed[1] = 'x';
+    }
+
+    public boolean parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses {@code text[start, end)}, which must be a {@code 0x}-prefixed 40-digit hex address.
+     *
+     * @return true if valid; otherwise {@link #problem()} says why
+     */
+    public boolean parse(CharSequence text, int start, int end) {
+        problem = null;
+        if (end - start != LENGTH) {
+            return fail(Problem.LENGTH);
+        }
+        if (text.charAt(start) != '0' || text.charAt(start + 1) != 'x') {
+            return fail(Problem.PREFIX);
+        }
+        boolean lower = false;
+        boolean upper = false;
+        int nonZero = 0;
+        for (int i = 0; i < 2 * BYTES; i++) {
+            char c = text.charAt(start + 2 + i);
+            int nibble;
+            if (c >= '0' && c <= '9') {
+                nibble = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                nibble = c - 'a' + 10;
+                lower = true;
+            } else if (c >= 'A' && c <= 'F') {
+                nibble = c - 'A' + 10;
+                upper = true;
+            } else {
+                return fail(Problem.NOT_HEX);
+            }
+            nonZero |= nibble;
+            lowerHex[i] = (byte) (nibble < 10 ? '0' + nibble : 'a' + nibble - 10);
+            if ((i & 1) == 0) {
+                address[i >> 1] = (byte) (nibble << 4);
+            } else {
+                address[i >> 1] |= (byte) nibble;
+            }
+        }
+        if (nonZero == 0) {
+            return fail(Problem.ZERO);
+        }
+        // EIP-55: a letter is uppercase when the matching nibble of keccak256(lowercase hex) is 8 or more
+        digest.update(lowerHex, 0, lowerHex.length);
+        digest.doFinal(hash, 0);
+        for (int i = 0; i < 2 * BYTES; i++) {
+            char c = (char) lowerHex[i];
+            int nibble = (i & 1) == 0 ? (hash[i >> 1] >> 4) & 0xF : hash[i >> 1] & 0xF;
+            checksummed[2 + i] = c >= 'a' && nibble >= 8 ? (char) (c - 32) : c;
+        }
+        if (lower && upper) {
+            for (int i = 2; i < LENGTH; i++) {
+                if (text.charAt(start + i) != checksummed[i]) {
+                    return fail(Problem.CHECKSUM);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reason the last parse failed, or null if it succeeded.
+     */
+    public Problem problem() {
+        return problem;
+    }
+
+    /**
+     * The 20 address bytes of the last successful parse; the array is reused.
+     */
+    public byte[] bytes() {
+        return address;
+    }
+
+    /**
+     * Appends the EIP-55 form of the last successful parse.
+     */
+    public StringBuilder appendChecksummed(StringBuilder out) {
+        return out.append(checksummed);
+    }
+
+    /**
+     * The EIP-55 form of the last successful parse, as a new string (e.g. for a request body).
+     */
+    public String checksummed() {
+        return new String(checksummed);
+    }
+
+    private boolean fail(Problem reason) {
+        problem = reason;
+        return false;
+    }
+}
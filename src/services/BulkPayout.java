@@ -0,0 +1,535 @@
+package services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import journal.Journal;
+import journal.JournalState;
+import utils.Config;
+import utils.Hex;
+import utils.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Pays out USDXM from one wallet to every {@code (recipient, amount)} row of a CSV or NDJSON file:
+ * createTransaction -> sign -> approveTransaction per row, with a fixed number of rows in flight.
+ * The file is read line by line into a small bounded queue and each result goes to the sink as soon as it is
+ * known, so memory does not depend on the file size beyond a 24-byte counter per distinct
+ * {@code (recipient, amount)} pair. Rows that fail validation are reported without an API call, and nothing is
+ * read until the signer is confirmed as the wallet's admin signer.
+ * <p>
+ * Each row's transfer carries an idempotency key derived from the wallet, the batch id, the recipient, the amount
+ * and how many earlier rows of the batch had the same recipient and amount. Running the same batch again returns
+ * the transfers already made instead of paying twice; those rows are logged and reported as deduplicated. The
+ * batch id defaults to a SHA-256 of the file content, so an unrelated file never matches an earlier batch. To edit
+ * a batch between runs, pin its id with {@link #withBatchId}: the key does not depend on row positions, so
+ * inserting or removing lines does not pay the other rows again.
+ * <p>
+ * With a {@link Journal}, each row's transaction id, approval and (when known) terminal status are recorded, and a
+ * re-run reports rows the journal shows as approved without any create, sign or approve call.
+ */
+public class BulkPayout {
+    private static final Logger logger = new Logger(BulkPayout.class);
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final Row POISON = new Row(-1, null, null, 0, null);
+    private static final int AMOUNT_DECIMALS = 6;
+
+    private final CrossmintService crossmintService;
+    private final String walletLocator;
+    private final MessageSigner signer;
+    private final int inFlight;
+    private String batchId;
+    private Journal journal;
+    private JournalState recovered;
+
+    /**
+     * Outcome of one row. {@code failedStage} and {@code error} are null on success, where {@code status} is the
+     * transaction status right after approval (usually {@code pending}). {@code deduplicated} rows were paid by an
+     * earlier run of the batch and were not paid again.
+     */
+    public record Result(long row, String recipient, String amount, String transactionId, String status,
+                         boolean deduplicated, String failedStage, String error) {
+        public boolean isSuccess() {
+            return failedStage == null;
+        }
+    }
+
+    /**
+     * {@code deduplicated} rows are also counted in {@code succeeded}.
+     */
+    public record Summary(long succeeded, long failed, long deduplicated, Duration elapsed) {
+    }
+
+    /**
+     * A parsed input line; {@code problem} is set instead of sending it when the line is invalid.
+     * {@code occurrence} counts the earlier rows with the same recipient and amount.
+     */
+    private record Row(long number, String recipient, String amount, int occurrence, String problem) {
+        Row withOccurrence(int occurrence) {
+            return new Row(number, recipient, amount, occurrence, problem);
+        }
+    }
+
+    public BulkPayout(CrossmintService crossmintService, String walletLocator, MessageSigner signer) {
+        this(crossmintService, walletLocator, signer, Config.PAYOUT_CONCURRENCY);
+    }
+
+    /**
+     * @param signer   the wallet's admin signer
+     * @param inFlight rows being transferred at once (virtual threads)
+     */
+    public BulkPayout(CrossmintService crossmintService, String walletLocator, MessageSigner signer, int inFlight) {
+        this.crossmintService = crossmintService;
+        this.walletLocator = walletLocator;
+        this.signer = signer;
+        this.inFlight = inFlight;
+    }
+
+    /**
+     * Records each row's transaction steps in {@code journal} and skips rows that {@code recovered}, the state
+     * replayed from the same journal, shows as approved. Rows are identified by their idempotency key, so one
+     * journal can hold several batches.
+     */
+    public BulkPayout resumeFrom(Journal journal, JournalState recovered) {
+        this.journal = journal;
+        this.recovered = recovered;
+        return this;
+    }
+
+    /**
+     * Identifies the batch in idempotency keys instead of the file's content hash, e.g. to keep paying out a
+     * file that was edited after a partial run. Blank means the content hash.
+     */
+    public BulkPayout withBatchId(String batchId) {
+        this.batchId = batchId == null || batchId.isBlank() ? null : batchId;
+        return this;
+    }
+
+    /**
+     * Pays out every row of {@code input}, streaming each result to {@code sink}. Files ending in {@code .ndjson}
+     * or {@code .jsonl} hold one {@code {"recipient":...,"amount":...}} object per line; anything else is CSV with
+     * the recipient and amount in the first two columns and an optional header. Sink calls are serialized.
+     * Blocks until the file is done.
+     *
+     * @throws IOException if the signer does not administer the wallet, before anything is paid
+     */
+    public Summary run(Path input, Consumer<Result> sink) throws IOException, InterruptedException {
+        String name = input.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean ndjson = name.endsWith(".ndjson") || name.endsWith(".jsonl");
+        checkSigner();
+        String batch = batchId != null ? batchId : contentHash(input);
+        logger.info("Paying out {} (batch {}) from {} ({} in flight)", input, batch, walletLocator, inFlight);
+        long start = System.nanoTime();
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicLong deduplicated = new AtomicLong();
+        Consumer<Result> serialSink = result -> {
+            (result.isSuccess() ? succeeded : failed).incrementAndGet();
+            if (result.deduplicated()) {
+                deduplicated.incrementAndGet();
+            }
+            synchronized (sink) {
+                sink.accept(result);
+            }
+        };
+
+        BlockingQueue<Row> rows = new ArrayBlockingQueue<>(2 * inFlight);
+        Thread caller = Thread.currentThread();
+        AtomicReference<RuntimeException> crash = new AtomicReference<>();
+        List<Thread> workers = new ArrayList<>(inFlight);
+        for (int i = 0; i < inFlight; i++) {
+            workers.add(Thread.ofVirtual().name("payout-" + i).start(() -> {
+                try {
+                    Row row;
+                    while ((row = rows.take()) != POISON) {
+                        serialSink.accept(pay(batch, row));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    // e.g. the sink could not write; wake the caller rather than leave it blocked on a full queue
+                    if (crash.compareAndSet(null, e)) {
+                        caller.interrupt();
+                    }
+                }
+            }));
+        }
+
+        AddressParser addresses = new AddressParser();
+        Occurrences occurrences = new Occurrences();
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            String line;
+            long number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.isBlank() || (number == 1 && !ndjson && isHeader(line))) {
+                    continue;
+                }
+                Row row = ndjson ? parseJson(number, line, addresses) : parseCsv(number, line, addresses);
+                if (row.problem() != null) {
+                    serialSink.accept(new Result(row.number(), row.recipient(), row.amount(), null, null, false,
+                            "parse", row.problem()));
+                } else {
+                    // the parser still holds the recipient's bytes
+                    rows.put(row.withOccurrence(occurrences.next(fingerprint(addresses.bytes(), row.amount()))));
+                }
+            }
+            for (int i = 0; i < inFlight; i++) {
+                rows.put(POISON);
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (IOException | InterruptedException e) {
+            workers.forEach(Thread::interrupt);
+            if (crash.get() != null) {
+                Thread.interrupted();
+                throw crash.get();
+            }
+            throw e;
+        }
+        if (crash.get() != null) {
+            throw crash.get();
+        }
+
+        Summary summary = new Summary(succeeded.get(), failed.get(), deduplicated.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+        logger.info("Payout finished: {} succeeded ({} already paid by an earlier run), {} failed in {} ms",
+                summary.succeeded(), summary.deduplicated(), summary.failed(), summary.elapsed().toMillis());
+        return summary;
+    }
+
+    private Result pay(String batch, Row row) {
+        UUID key = UUID.nameUUIDFromBytes(("payout/" + walletLocator + "/" + batch + "/" + row.recipient() + "/"
+                + normalize(row.amount()) + "/" + row.occurrence()).getBytes(StandardCharsets.UTF_8));
+        // the idempotency key identifies the payment, so it also names the row's flow in the journal
+        long flow = key.getMostSignificantBits() ^ key.getLeastSignificantBits();
+        JournalState.Flow recorded = recovered != null ? recovered.flow(flow) : null;
+        if (recorded != null && recorded.approved()) {
+            return resumed(row, flow, recorded);
+        }
+        String stage = "create";
+        String transactionId = null;
+        try {
+            Transaction tx = crossmintService.createTransaction(walletLocator, row.recipient(), row.amount(), key.toString());
+            transactionId = tx.id();
+            stage = "journal";
+            record(Journal.Entry.txCreated(flow, transactionId));
+            if (tx.pendingApprovals().isEmpty()) {
+                // the idempotency key matched a transfer an earlier run of this batch already approved
+                if (CrossmintService.isFailedStatus(tx.status())) {
+                    return unsettled(row, tx.id(), tx.status());
+                }
+                if ("awaiting-approval".equals(tx.status())) {
+                    throw new IllegalStateException("Transaction " + transactionId + " has no pending approvals");
+                }
+                logger.info("Payout row {} to {} was already paid by transaction {} ({}); not paying again",
+                        row.number(), row.recipient(), transactionId, tx.status());
+                recordAfterApproval(flow, tx);
+                return new Result(row.number(), row.recipient(), row.amount(), transactionId, tx.status(), true,
+                        null, null);
+            }
+            stage = "sign";
+            Transaction.PendingApproval approval = tx.pendingApprovals().get(0);
+            String signature = signer.signHex(approval.message());
+            stage = "approve";
+            Transaction approved = crossmintService.approveTransaction(walletLocator, transactionId, approval, signature);
+            recordAfterApproval(flow, approved);
+            if (CrossmintService.isFailedStatus(approved.status())) {
+                return unsettled(row, transactionId, approved.status());
+            }
+            return new Result(row.number(), row.recipient(), row.amount(), transactionId, approved.status(), false,
+                    null, null);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Payout row {} failed at {}: {}", row.number(), stage, e.getMessage());
+            return new Result(row.number(), row.recipient(), row.amount(), transactionId, null, false, stage,
+                    String.valueOf(e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Result(row.number(), row.recipient(), row.amount(), transactionId, null, false, stage,
+                    "interrupted");
+        }
+    }
+
+    /**
+     * A row the journal shows as approved: reported without creating or signing anything. Its status comes from
+     * the journal once terminal, otherwise from one status read, which is journaled if it is terminal by now.
+     * A failed transfer is reported as a failure, not as already paid.
+     */
+    private Result resumed(Row row, long flow, JournalState.Flow recorded) {
+        String status = recorded.status();
+        if (status == null) {
+            try {
+                Transaction tx = crossmintService.transactions().getTransaction(walletLocator, recorded.transactionId());
+                status = tx.status();
+                if (tx.isTerminal()) {
+                    record(Journal.Entry.terminal(flow, status, tx.txHash()));
+                }
+            } catch (IOException e) {
+                logger.debug("Could not refresh payout row {}: {}", row.number(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (CrossmintService.isFailedStatus(status)) {
+            return unsettled(row, recorded.transactionId(), status);
+        }
+        return new Result(row.number(), row.recipient(), row.amount(), recorded.transactionId(), status, true,
+                null, null);
+    }
+
+    /**
+     * An approved transfer that failed on chain. The row is not paid, and its idempotency key now names the
+     * failed transaction, so it needs a new batch id to be paid.
+     */
+    private static Result unsettled(Row row, String transactionId, String status) {
+        logger.warn("Payout row {} to {}: transaction {} {}", row.number(), row.recipient(), transactionId, status);
+        return new Result(row.number(), row.recipient(), row.amount(), transactionId, status, false, "settle",
+                "Transaction " + status);
+    }
+
+    /**
+     * Journals an approval this run made or found. A journal failure here only means a resumed run asks the API
+     * again, and the idempotency key keeps that from paying twice.
+     */
+    private void recordAfterApproval(long flow, Transaction tx) throws InterruptedException {
+        try {
+            record(Journal.Entry.approved(flow));
+            if (tx.isTerminal()) {
+                record(Journal.Entry.terminal(flow, tx.status(), tx.txHash()));
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not journal approval of {}: {}", tx.id(), e.getMessage());
+        }
+    }
+
+    /**
+     * Durably records a step when journaling; blocks only until the group commit containing it is synced.
+     */
+    private void record(Journal.Entry entry) throws IOException, InterruptedException {
+        if (journal != null) {
+            journal.write(entry);
+        }
+    }
+
+    /**
+     * Refuses to start unless the signer administers the wallet; otherwise every row would create a transfer
+     * that can never be approved.
+     */
+    private void checkSigner() throws IOException {
+        String adminSigner = crossmintService.getWallet(walletLocator).adminSigner();
+        if (!signer.address().equalsIgnoreCase(adminSigner)) {
+            throw new IOException("Signer " + signer.address() + " is not the admin signer of wallet " + walletLocator
+                    + " (" + (adminSigner.isEmpty() ? "none reported" : adminSigner) + ")");
+        }
+    }
+
+    private static String contentHash(Path input) throws IOException {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(input)) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                sha256.update(buffer, 0, n);
+            }
+        }
+        return "sha256:" + Hex.toPrefixedHex(sha256.digest()).substring(2);
+    }
+
+    /**
+     * Same value, same string: {@code 10}, {@code 10.0} and {@code 10.000} all become {@code 10}.
+     */
+    private static String normalize(String amount) {
+        return new BigDecimal(amount).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * 64-bit identity of a (recipient, amount) pair; address bytes are already uniformly distributed.
+     */
+    private static long fingerprint(byte[] address, String amount) {
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (address[i] & 0xFF);
+        }
+        return bits ^ (normalize(amount).hashCode() * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Counts rows per (recipient, amount) fingerprint: an open-addressing map of primitive longs to ints, so the
+     * reader can tell the n-th repeat of a payment without keeping the rows.
+     */
+    private static final class Occurrences {
+        private long[] keys = new long[1024];
+        private int[] counts = new int[1024];
+        private int size;
+
+        /**
+         * Records one more row with {@code fingerprint} and returns how many came before it.
+         */
+        int next(long fingerprint) {
+            long key = fingerprint == 0 ? 1 : fingerprint; // 0 marks a free slot
+            if (2 * (size + 1) > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return counts[i]++;
+                }
+                if (keys[i] == 0) {
+                    keys[i] = key;
+                    counts[i] = 1;
+                    size++;
+                    return 0;
+                }
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = new long[oldKeys.length * 2];
+            counts = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] != 0) {
+                    int i = slot(oldKeys[j], mask);
+                    while (keys[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    counts[i] = oldCounts[j];
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            return (int) (key ^ (key >>> 32)) & mask;
+        }
+    }
+
+    private static boolean isHeader(String line) {
+        return !line.stripLeading().startsWith("0x") && line.toLowerCase(Locale.ROOT).contains("amount");
+    }
+
+    /**
+     * {@code recipient,amount[,...]}; surrounding spaces are ignored, quoting is not supported.
+     */
+    static Row parseCsv(long number, String line, AddressParser addresses) {
+        int comma = line.indexOf(',');
+        if (comma < 0) {
+            return new Row(number, null, null, 0, "expected recipient,amount");
+        }
+        int next = line.indexOf(',', comma + 1);
+        int recipientStart = skipSpaces(line, 0, comma);
+        int recipientEnd = trimSpaces(line, recipientStart, comma);
+        int amountStart = skipSpaces(line, comma + 1, next < 0 ? line.length() : next);
+        int amountEnd = trimSpaces(line, amountStart, next < 0 ? line.length() : next);
+        return validate(number, line, recipientStart, recipientEnd, line, amountStart, amountEnd, addresses);
+    }
+
+    /**
+     * {@code {"recipient":"0x...","amount":"1.5"}}; the amount may also be a JSON number.
+     */
+    static Row parseJson(long number, String line, AddressParser addresses) {
+        String recipient = null;
+        String amount = null;
+        try (JsonParser parser = JSON.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new Row(number, null, null, 0, "expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("recipient".equals(field) && token == JsonToken.VALUE_STRING) {
+                    recipient = parser.getText();
+                } else if ("amount".equals(field) && (token == JsonToken.VALUE_STRING || token.isNumeric())) {
+                    amount = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            return new Row(number, null, null, 0, "invalid JSON");
+        }
+        if (recipient == null || amount == null) {
+            return new Row(number, recipient, amount, 0, "expected recipient and amount");
+        }
+        return validate(number, recipient, 0, recipient.length(), amount, 0, amount.length(), addresses);
+    }
+
+    private static Row validate(long number, String recipientText, int recipientStart, int recipientEnd,
+                                String amountText, int amountStart, int amountEnd, AddressParser addresses) {
+        if (!addresses.parse(recipientText, recipientStart, recipientEnd)) {
+            return new Row(number, recipientText.substring(recipientStart, recipientEnd), null, 0,
+                    "invalid recipient (" + addresses.problem().name().toLowerCase(Locale.ROOT) + ")");
+        }
+        String recipient = addresses.checksummed();
+        if (!isAmount(amountText, amountStart, amountEnd)) {
+            return new Row(number, recipient, amountText.substring(amountStart, amountEnd), 0, "invalid amount");
+        }
+        return new Row(number, recipient, amountText.substring(amountStart, amountEnd), 0, null);
+    }
+
+    /**
+     * A positive decimal with at most {@link #AMOUNT_DECIMALS} fraction digits, e.g. {@code 10} or {@code 0.25}.
+     */
+    static boolean isAmount(CharSequence text, int start, int end) {
+        int digits = 0;
+        int decimals = -1;
+        boolean nonZero = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && decimals < 0 && digits > 0) {
+                decimals = 0;
+            } else if (c >= '0' && c <= '9') {
+                digits++;
+                nonZero |= c != '0';
+                if (decimals >= 0 && ++decimals > AMOUNT_DECIMALS) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        return nonZero && decimals != 0;
+    }
+
+    private static int skipSpaces(String s, int from, int to) {
+        while (from < to && s.charAt(from) == ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimSpaces(String s, int from, int to) {
+        while (to > from && s.charAt(to - 1) == ' ') {
+            to--;
+        }
+        return to;
+    }
+}
@@ -0,0 +1,60 @@
+package services;
+
+import metrics.Endpoint;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every attempt of a tagged Crossmint request through the {@link AdaptiveLimiter} of its {@link Endpoint}.
+ * Untagged requests pass straight through. A call waiting for a permit gives up as soon as it is cancelled,
+ * which includes its call timeout expiring.
+ */
+final class ConcurrencyLimitInterceptor implements Interceptor {
+    private static final long CANCEL_CHECK_MILLIS = 100;
+
+    private final Map<Endpoint, AdaptiveLimiter> limiters = new EnumMap<>(Endpoint.class);
+
+    ConcurrencyLimitInterceptor(int initialLimit, int maxLimit) {
+        for (Endpoint endpoint : Endpoint.values()) {
+            limiters.put(endpoint, new AdaptiveLimiter(initialLimit, 1, maxLimit));
+        }
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Endpoint endpoint = chain.request().tag(Endpoint.class);
+        if (endpoint == null) {
+            return chain.proceed(chain.request());
+        }
+        AdaptiveLimiter limiter = limiters.get(endpoint);
+        try {
+            while (!limiter.tryAcquire(CANCEL_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (chain.call().isCanceled()) {
+                    throw new IOException("Canceled");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a " + endpoint.label() + " permit");
+        }
+        AdaptiveLimiter.Outcome outcome = AdaptiveLimiter.Outcome.IGNORE;
+        try {
+            Response response = chain.proceed(chain.request());
+            int code = response.code();
+            outcome = code == 429 || code == 503 ? AdaptiveLimiter.Outcome.OVERLOAD : AdaptiveLimiter.Outcome.SUCCESS;
+            return response;
+        } catch (SocketTimeoutException e) {
+            outcome = AdaptiveLimiter.Outcome.OVERLOAD;
+            throw e;
+        } finally {
+            limiter.release(outcome);
+        }
+    }
+}
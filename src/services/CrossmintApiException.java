@@ -0,0 +1,40 @@
+package services;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * A non-2xx response from the Crossmint API.
+ */
+public class CrossmintApiException extends IOException {
+    private final int statusCode;
+    private final Duration retryAfter;
+
+    public CrossmintApiException(int statusCode, String errorBody, Duration retryAfter) {
+        super("Unexpected code " + statusCode + ": " + errorBody);
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
+    }
+
+    public int statusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Delay requested by the server's {@code Retry-After} header, or null if it sent none.
+     */
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * True for throttling (429) and transient server errors (500, 502, 503, 504).
+     */
+    public boolean isRetryable() {
+        return isRetryable(statusCode);
+    }
+
+    static boolean isRetryable(int statusCode) {
+        return statusCode == 429 || statusCode == 500 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+}
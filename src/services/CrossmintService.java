@@ -1,189 +1,486 @@
+package services;
+
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import metrics.CrossmintMetrics;
+import metrics.Endpoint;
+import metrics.Metrics;
+import metrics.MetricsEventListener;
 import okhttp3.*;
+import utils.Config;
+import utils.Logger;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Service for interacting with Crossmint API for wallet operations.
+ * Every operation is available as a blocking call and as a non-blocking {@code ...Async} variant.
  */
 public class CrossmintService {
     private static final Logger logger = new Logger(CrossmintService.class);
     private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
 
+    /**
+     * Header carrying the client-chosen key that makes a POST safe to retry: the server applies it once.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "x-idempotency-key";
+
+    /** Token the demo funds wallets with and transfers. */
+    public static final String USDXM = "usdxm";
+
+    /** Funding usually lands within a second or two: start polling early, back off gently. */
+    private static final Poller balancePoller =
+            new Poller(Duration.ofMillis(250), Duration.ofSeconds(5), 1.5, Duration.ofMinutes(2));
+
     private final OkHttpClient client;
     private final ObjectMapper mapper;
-    private final String baseUrl;
+    private final RequestEncoder encoder;
+    private final Endpoints endpoints;
+    private final Metrics metrics;
     private final String apiKey;
+    private final TransactionCache transactions;
 
+    /**
+     * Uses the process-wide {@link HttpClients#shared()} client, so all default instances share one
+     * connection pool and dispatcher.
+     */
     public CrossmintService() {
-        baseUrl = Config.CROSSMINT_BASE_URL;
-        apiKey = Config.CROSSMINT_API_KEY;
+        this(HttpClients.shared(), Config.CROSSMINT_BASE_URL, Config.CROSSMINT_API_KEY, new CrossmintMetrics());
+    }
+
+    /**
+     * Uses a dedicated client built from the configured settings.
+     *
+     * @param virtualThreads when true, enqueued calls and {@link #async(IOCall)} tasks run on virtual threads,
+     *                       so thousands of in-flight requests only need a handful of carrier threads
+     */
+    public CrossmintService(boolean virtualThreads) {
+        this(Config.CROSSMINT_BASE_URL, Config.CROSSMINT_API_KEY, virtualThreads);
+    }
+
+    /**
+     * Targets an explicit Crossmint deployment, e.g. a local stand-in server for benchmarks.
+     */
+    public CrossmintService(String baseUrl, String apiKey, boolean virtualThreads) {
+        this(HttpClients.create(HttpClients.Settings.fromConfig().withVirtualThreads(virtualThreads)),
+                baseUrl, apiKey, new CrossmintMetrics());
+    }
+
+    /**
+     * @param client  base client; its connection pool and dispatcher are shared, not copied
+     * @param metrics receives per-endpoint latency, phase timings, status codes and byte counts;
+     *                {@link Metrics#NOOP} turns recording off
+     */
+    public CrossmintService(OkHttpClient client, String baseUrl, String apiKey, Metrics metrics) {
+        this.apiKey = apiKey;
+        this.metrics = metrics;
         mapper = new ObjectMapper();
-        client = new OkHttpClient.Builder()
-                .callTimeout(Duration.ofSeconds(30))
+        encoder = new RequestEncoder(Config.NETWORK);
+        endpoints = new Endpoints(baseUrl, Config.NETWORK);
+        this.client = client.newBuilder()
+                .eventListenerFactory(MetricsEventListener.factory(metrics))
                 .build();
+        transactions = new TransactionCache(this);
+    }
+
+    public Metrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Status reads shared by {@link #pollTransaction} and {@link TransactionWatcher}; webhooks feed it too.
+     * {@link #getTransaction} itself always goes to the network.
+     */
+    public TransactionCache transactions() {
+        return transactions;
+    }
+
+    /**
+     * A blocking Crossmint call, used to hand the sync API to {@link #async(IOCall)}.
+     */
+    @FunctionalInterface
+    public interface IOCall<T> {
+        T call() throws IOException;
     }
 
-    private Request.Builder requestBuilder(String url) {
-        return new Request.Builder()
-                .url(url)
+    /**
+     * Runs a blocking call (e.g. {@code () -> service.createWallet(address)}) on the client's dispatcher
+     * executor, which is a virtual-thread-per-task executor unless virtual threads were disabled.
+     */
+    public <T> CompletableFuture<T> async(IOCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        ExecutorService executor = client.dispatcher().executorService();
+        executor.execute(() -> {
+            try {
+                future.complete(call.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private Request.Builder requestBuilder(Endpoint endpoint, String url) {
+        return requestBuilder(endpoint, new Request.Builder().url(url));
+    }
+
+    private Request.Builder requestBuilder(Endpoint endpoint, HttpUrl url) {
+        return requestBuilder(endpoint, new Request.Builder().url(url));
+    }
+
+    private Request.Builder requestBuilder(Endpoint endpoint, Request.Builder builder) {
+        return builder
+                .tag(Endpoint.class, endpoint)
+                .tag(Metrics.class, metrics)
                 .addHeader("X-API-KEY", apiKey)
                 .addHeader("Content-Type", "application/json");
     }
 
+    /**
+     * Executes a request on the calling thread and parses the JSON response.
+     */
+    private <T> T execute(Request request, ResponseDecoder.Decoder<T> decoder, String successMessage) throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            T body = readBody(response, decoder);
+            if (successMessage != null) {
+                logger.success(successMessage);
+            }
+            return body;
+        }
+    }
+
+    /**
+     * Enqueues a request on OkHttp's dispatcher; the returned future completes from the response callback.
+     * Cancelling the future cancels the underlying call.
+     */
+    private <T> CompletableFuture<T> enqueue(Request request, ResponseDecoder.Decoder<T> decoder, String successMessage) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Call call = client.newCall(request);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    T body = readBody(response, decoder);
+                    if (successMessage != null) {
+                        logger.success(successMessage);
+                    }
+                    future.complete(body);
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        future.whenComplete((body, e) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Decodes a successful response straight from its byte stream; error bodies are read as text for the
+     * {@link CrossmintApiException} message.
+     */
+    private <T> T readBody(Response response, ResponseDecoder.Decoder<T> decoder) throws IOException {
+        if (!response.isSuccessful()) {
+            String errorBody = response.body() != null ? response.body().string() : "No error body";
+            throw new CrossmintApiException(response.code(), errorBody,
+                    RetryInterceptor.parseRetryAfter(response.header("Retry-After")));
+        }
+        long start = System.nanoTime();
+        T body = decoder.decode(response.body().byteStream());
+        Endpoint endpoint = response.request().tag(Endpoint.class);
+        if (endpoint != null) {
+            metrics.recordPhase(endpoint, Metrics.Phase.DECODE, System.nanoTime() - start);
+        }
+        return body;
+    }
+
+    private JsonNode readTree(InputStream in) throws IOException {
+        return mapper.readTree(in);
+    }
+
     /**
      * Creates a new smart wallet with external signer.
+     * The idempotency key is derived from the signer, so retrying or re-running the call for the same signer
+     * returns the wallet created the first time.
      */
-    public JsonNode createWallet(String address) throws IOException {
+    public Wallet createWallet(String address) throws IOException {
+        return execute(createWalletRequest(address), ResponseDecoder::readWallet, "Wallet created successfully");
+    }
+
+    /**
+     * Non-blocking variant of {@link #createWallet(String)}.
+     */
+    public CompletableFuture<Wallet> createWalletAsync(String address) {
+        return enqueue(createWalletRequest(address), ResponseDecoder::readWallet, "Wallet created successfully");
+    }
+
+    private Request createWalletRequest(String address) {
         logger.info("Creating wallet for address: {}", address);
-        
-        ObjectNode config = mapper.createObjectNode();
-        ObjectNode adminSigner = mapper.createObjectNode();
-        adminSigner.put("type", "external-wallet");
-        adminSigner.put("address", address);
-        config.set("adminSigner", adminSigner);
-        
-        ObjectNode payload = mapper.createObjectNode();
-        payload.set("config", config);
-        payload.put("type", "smart");
-        payload.put("chainType", "evm");
 
-        Request request = requestBuilder(baseUrl + "/api/2025-06-09/wallets")
-                .post(RequestBody.create(payload.toString(), JSON))
+        String idempotencyKey = UUID.nameUUIDFromBytes(
+                ("wallet/" + address).getBytes(StandardCharsets.UTF_8)).toString();
+        return requestBuilder(Endpoint.CREATE_WALLET, endpoints.wallets())
+                .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .post(RequestBody.create(encoder.createWallet(address), JSON))
                 .build();
+    }
 
-        try (Response response = client.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                String errorBody = response.body() != null ? response.body().string() : "No error body";
-                throw new IOException("Unexpected code " + response.code() + ": " + errorBody);
-            }
-            JsonNode body = mapper.readTree(response.body().string());
-            logger.success("Wallet created successfully");
-            return body;
-        }
+    /**
+     * Gets a wallet by locator, e.g. to check which signer administers it.
+     */
+    public Wallet getWallet(String walletLocator) throws IOException {
+        return execute(getWalletRequest(walletLocator), ResponseDecoder::readWallet, null);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getWallet(String)}.
+     */
+    public CompletableFuture<Wallet> getWalletAsync(String walletLocator) {
+        return enqueue(getWalletRequest(walletLocator), ResponseDecoder::readWallet, null);
+    }
+
+    private Request getWalletRequest(String walletLocator) {
+        logger.debug("Getting wallet {}", walletLocator);
+
+        return requestBuilder(Endpoint.GET_WALLET, endpoints.wallet(walletLocator))
+                .get()
+                .build();
     }
 
     /**
      * Funds a wallet with test tokens.
      */
     public JsonNode fundWallet(String walletLocator, String amount) throws IOException {
+        return execute(fundWalletRequest(walletLocator, amount), this::readTree, "Wallet funded successfully");
+    }
+
+    /**
+     * Non-blocking variant of {@link #fundWallet(String, String)}.
+     */
+    public CompletableFuture<JsonNode> fundWalletAsync(String walletLocator, String amount) {
+        return enqueue(fundWalletRequest(walletLocator, amount), this::readTree, "Wallet funded successfully");
+    }
+
+    private Request fundWalletRequest(String walletLocator, String amount) {
         logger.info("Funding wallet {} with {} USDXM", walletLocator, amount);
-        
-        ObjectNode payload = mapper.createObjectNode();
-        payload.put("amount", Integer.parseInt(amount));
-        payload.put("token", "usdxm");
-        payload.put("chain", Config.NETWORK);
 
-        Request request = requestBuilder(baseUrl + "/api/v1-alpha2/wallets/" + walletLocator + "/balances")
-                .post(RequestBody.create(payload.toString(), JSON))
+        return requestBuilder(Endpoint.FUND_WALLET, endpoints.balances(walletLocator))
+                .post(RequestBody.create(encoder.fundWallet(Integer.parseInt(amount)), JSON))
                 .build();
+    }
 
-        try (Response response = client.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                String errorBody = response.body() != null ? response.body().string() : "No error body";
-                throw new IOException("Unexpected code " + response.code() + ": " + errorBody);
+    /**
+     * Gets the wallet's balance of {@code token} on the configured chain.
+     */
+    public BigDecimal getBalance(String walletLocator, String token) throws IOException {
+        return execute(getBalanceRequest(walletLocator, token), in -> ResponseDecoder.readBalance(in, token), null);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getBalance(String, String)}.
+     */
+    public CompletableFuture<BigDecimal> getBalanceAsync(String walletLocator, String token) {
+        return enqueue(getBalanceRequest(walletLocator, token), in -> ResponseDecoder.readBalance(in, token), null);
+    }
+
+    private Request getBalanceRequest(String walletLocator, String token) {
+        logger.debug("Getting {} balance for {}", token, walletLocator);
+
+        return requestBuilder(Endpoint.GET_BALANCE, endpoints.walletBalance(walletLocator, token))
+                .get()
+                .build();
+    }
+
+    /**
+     * Waits until the wallet holds at least {@code minAmount} of {@code token}, e.g. after {@link #fundWallet},
+     * and returns the balance. Blocks the calling thread; see {@link #awaitBalanceAsync}.
+     */
+    public BigDecimal awaitBalance(String walletLocator, String token, String minAmount) throws IOException, InterruptedException {
+        try {
+            return awaitBalanceAsync(walletLocator, token, minAmount).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
             }
-            JsonNode body = mapper.readTree(response.body().string());
-            logger.success("Wallet funded successfully");
-            return body;
+            throw new IOException(e.getCause());
         }
     }
 
+    /**
+     * Non-blocking variant of {@link #awaitBalance(String, String, String)}. Balances are polled on the scheduler
+     * shared with {@link TransactionWatcher}, starting after 250ms and backing off to 5s between polls; the
+     * future fails if the balance has not arrived after two minutes. Cancelling it stops polling.
+     */
+    public CompletableFuture<BigDecimal> awaitBalanceAsync(String walletLocator, String token, String minAmount) {
+        logger.info("Waiting for {} {} in wallet {}", minAmount, token, walletLocator);
+        BigDecimal min = new BigDecimal(minAmount);
+        return balancePoller.poll(token + " balance of " + walletLocator, () -> {
+            metrics.recordPollAttempt(Endpoint.GET_BALANCE);
+            return getBalanceAsync(walletLocator, token);
+        }, balance -> balance.compareTo(min) >= 0);
+    }
+
     /**
      * Creates a USDXM transfer transaction.
+     * A fresh idempotency key is used, so retries of this call cannot create a second transfer.
+     */
+    public Transaction createTransaction(String walletLocator, String recipientAddress, String amount) throws IOException {
+        return createTransaction(walletLocator, recipientAddress, amount, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Creates a USDXM transfer transaction that the server applies at most once per {@code idempotencyKey},
+     * e.g. a payout row id, so re-running a batch does not pay twice.
+     */
+    public Transaction createTransaction(String walletLocator, String recipientAddress, String amount, String idempotencyKey) throws IOException {
+        return execute(createTransactionRequest(walletLocator, recipientAddress, amount, idempotencyKey), ResponseDecoder::readTransaction, "Transaction created successfully");
+    }
+
+    /**
+     * Non-blocking variant of {@link #createTransaction(String, String, String)}.
+     */
+    public CompletableFuture<Transaction> createTransactionAsync(String walletLocator, String recipientAddress, String amount) {
+        return createTransactionAsync(walletLocator, recipientAddress, amount, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Non-blocking variant of {@link #createTransaction(String, String, String, String)}.
      */
-    public JsonNode createTransaction(String walletLocator, String recipientAddress, String amount) throws IOException {
+    public CompletableFuture<Transaction> createTransactionAsync(String walletLocator, String recipientAddress, String amount, String idempotencyKey) {
+        return enqueue(createTransactionRequest(walletLocator, recipientAddress, amount, idempotencyKey), ResponseDecoder::readTransaction, "Transaction created successfully");
+    }
+
+    private Request createTransactionRequest(String walletLocator, String recipientAddress, String amount, String idempotencyKey) {
         logger.info("Creating transaction: {} USDXM to {}", amount, recipientAddress);
-        
-        ObjectNode payload = mapper.createObjectNode();
-        payload.put("recipient", recipientAddress);
-        payload.put("amount", amount);
 
-        String url = baseUrl + "/api/2025-06-09/wallets/" + walletLocator + "/tokens/" + Config.NETWORK + ":usdxm/transfers";
-        Request request = requestBuilder(url)
-                .post(RequestBody.create(payload.toString(), JSON))
+        return requestBuilder(Endpoint.CREATE_TRANSACTION, endpoints.transfers(walletLocator))
+                .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .post(RequestBody.create(encoder.createTransaction(recipientAddress, amount), JSON))
                 .build();
-
-        try (Response response = client.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                String errorBody = response.body() != null ? response.body().string() : "No error body";
-                throw new IOException("Unexpected code " + response.code() + ": " + errorBody);
-            }
-            JsonNode body = mapper.readTree(response.body().string());
-            logger.success("Transaction created successfully");
-            return body;
-        }
     }
 
     /**
      * Approves a transaction with the provided signature.
      */
-    public JsonNode approveTransaction(String walletLocator, String transactionId, String signerLocator, String signature) throws IOException {
-        logger.info("Approving transaction {} with signature", transactionId);
-        
-        ObjectNode approval = mapper.createObjectNode();
-        approval.put("signer", signerLocator);
-        approval.put("signature", signature);
-        
-        ObjectNode payload = mapper.createObjectNode();
-        payload.set("approvals", mapper.createArrayNode().add(approval));
+    public Transaction approveTransaction(String walletLocator, String transactionId, String signerLocator, String signature) throws IOException {
+        return execute(approveTransactionRequest(walletLocator, transactionId, signerLocator, signature), ResponseDecoder::readTransaction, "Transaction approved successfully");
+    }
 
-        String url = baseUrl + "/api/2025-06-09/wallets/" + walletLocator + "/transactions/" + transactionId + "/approvals";
-        
-        Request request = requestBuilder(url)
-                .post(RequestBody.create(payload.toString(), JSON))
-                .build();
+    /**
+     * Non-blocking variant of {@link #approveTransaction(String, String, String, String)}.
+     */
+    public CompletableFuture<Transaction> approveTransactionAsync(String walletLocator, String transactionId, String signerLocator, String signature) {
+        return enqueue(approveTransactionRequest(walletLocator, transactionId, signerLocator, signature), ResponseDecoder::readTransaction, "Transaction approved successfully");
+    }
 
-        try (Response response = client.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                String errorBody = response.body() != null ? response.body().string() : "No error body";
-                throw new IOException("Unexpected code " + response.code() + ": " + errorBody);
+    /**
+     * Approves the transaction's pending approval with {@code signature}, first checking locally that the signature
+     * recovers to the approval's signer (unless {@code VERIFY_SIGNATURES=false}). A bad signature fails with
+     * {@link InvalidSignatureException} without a request being sent.
+     */
+    public Transaction approveTransaction(String walletLocator, String transactionId, Transaction.PendingApproval approval, String signature) throws IOException {
+        if (Config.VERIFY_SIGNATURES) {
+            SignatureVerifier.check(approval, signature);
+        }
+        return approveTransaction(walletLocator, transactionId, approval.signerLocator(), signature);
+    }
+
+    /**
+     * Non-blocking variant of {@link #approveTransaction(String, String, Transaction.PendingApproval, String)}.
+     */
+    public CompletableFuture<Transaction> approveTransactionAsync(String walletLocator, String transactionId, Transaction.PendingApproval approval, String signature) {
+        if (Config.VERIFY_SIGNATURES) {
+            try {
+                SignatureVerifier.check(approval, signature);
+            } catch (InvalidSignatureException e) {
+                return CompletableFuture.failedFuture(e);
             }
-            JsonNode body = mapper.readTree(response.body().string());
-            logger.success("Transaction approved successfully");
-            return body;
         }
+        return approveTransactionAsync(walletLocator, transactionId, approval.signerLocator(), signature);
+    }
+
+    private Request approveTransactionRequest(String walletLocator, String transactionId, String signerLocator, String signature) {
+        logger.info("Approving transaction {} with signature", transactionId);
+
+        // one approval per (transaction, signer): derive the key so every retry and re-run maps to it
+        String idempotencyKey = UUID.nameUUIDFromBytes(
+                (transactionId + "/" + signerLocator).getBytes(StandardCharsets.UTF_8)).toString();
+        return requestBuilder(Endpoint.APPROVE_TRANSACTION, endpoints.approvals(walletLocator, transactionId))
+                .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .post(RequestBody.create(encoder.approveTransaction(signerLocator, signature), JSON))
+                .build();
     }
 
     /**
      * Gets the current status of a transaction.
      */
-    public JsonNode getTransaction(String walletLocator, String transactionId) throws IOException {
+    public Transaction getTransaction(String walletLocator, String transactionId) throws IOException {
+        return execute(getTransactionRequest(walletLocator, transactionId), ResponseDecoder::readTransaction, null);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getTransaction(String, String)}.
+     */
+    public CompletableFuture<Transaction> getTransactionAsync(String walletLocator, String transactionId) {
+        return enqueue(getTransactionRequest(walletLocator, transactionId), ResponseDecoder::readTransaction, null);
+    }
+
+    private Request getTransactionRequest(String walletLocator, String transactionId) {
         logger.debug("Getting transaction status for {}", transactionId);
-        
-        String url = baseUrl + "/api/2025-06-09/wallets/" + walletLocator + "/transactions/" + transactionId;
-        Request request = requestBuilder(url)
+
+        return requestBuilder(Endpoint.GET_TRANSACTION, endpoints.transaction(walletLocator, transactionId))
                 .get()
                 .build();
+    }
 
-        try (Response response = client.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                String errorBody = response.body() != null ? response.body().string() : "No error body";
-                throw new IOException("Unexpected code " + response.code() + ": " + errorBody);
-            }
-            return mapper.readTree(response.body().string());
-        }
+    /**
+     * Returns true for transaction statuses that will not change anymore.
+     */
+    public static boolean isTerminalStatus(String status) {
+        return "completed".equals(status) || "success".equals(status) || "failed".equals(status) || "rejected".equals(status);
+    }
+
+    /**
+     * Returns true for terminal statuses in which the transfer did not happen.
+     */
+    public static boolean isFailedStatus(String status) {
+        return "failed".equals(status) || "rejected".equals(status);
     }
 
     /**
      * Polls a transaction until completion or timeout.
+     * Blocks the calling thread; use {@link TransactionWatcher} to track many transactions at once.
      */
-    public JsonNode pollTransaction(String walletLocator, String transactionId, long intervalMs, int maxAttempts) throws IOException, InterruptedException {
+    public Transaction pollTransaction(String walletLocator, String transactionId, long intervalMs, int maxAttempts) throws IOException, InterruptedException {
         logger.info("Starting to poll transaction {}...", transactionId);
         int attempts = 0;
         
         while (attempts < maxAttempts) {
             try {
-                JsonNode tx = getTransaction(walletLocator, transactionId);
-                String status = tx.path("status").asText();
+                metrics.recordPollAttempt(Endpoint.GET_TRANSACTION);
+                Transaction tx = transactions.getTransaction(walletLocator, transactionId);
+                String status = tx.status();
                 logger.info("Transaction status: {} (attempt {}/{})", status, attempts + 1, maxAttempts);
                 
-                if ("completed".equals(status) || "success".equals(status) || "failed".equals(status) || "rejected".equals(status)) {
-                    // Extract and log transaction hash if available
-                    String txHash = tx.path("txHash").asText();
+                if (tx.isTerminal()) {
+                    // Log transaction hash if available
+                    String txHash = tx.txHash();
                     if (!txHash.isEmpty()) {
                         logger.info("Transaction Hash: {}", txHash);
                     }
@@ -208,4 +505,4 @@ public class CrossmintService {
         
         throw new IOException("Transaction polling timed out after " + maxAttempts + " attempts");
     }
-}
\ No newline at end of file
+}
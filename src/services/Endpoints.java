@@ -0,0 +1,83 @@
+package services;
+
+import okhttp3.HttpUrl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Crossmint endpoint URLs with the constant parts precomputed.
+ * Per-wallet URLs are built once and cached, so repeated calls for the same wallet skip both string
+ * concatenation and OkHttp's URL parsing.
+ */
+final class Endpoints {
+    private static final int MAX_CACHED_WALLETS = 10_000;
+
+    private final String walletsPrefix;
+    private final String balancesPrefix;
+    private final String transfersSuffix;
+    private final String balanceQuery;
+    private final HttpUrl wallets;
+    private final Map<String, WalletUrls> walletUrls = new ConcurrentHashMap<>();
+
+    private record WalletUrls(HttpUrl transfers, HttpUrl balances, String walletBalances, String transactionsPrefix) {
+    }
+
+    Endpoints(String baseUrl, String network) {
+        walletsPrefix = baseUrl + "/api/2025-06-09/wallets/";
+        balancesPrefix = baseUrl + "/api/v1-alpha2/wallets/";
+        transfersSuffix = "/tokens/" + network + ":usdxm/transfers";
+        balanceQuery = "/balances?chains=" + network + "&tokens=";
+        wallets = HttpUrl.get(baseUrl + "/api/2025-06-09/wallets");
+    }
+
+    /** {@code POST /api/2025-06-09/wallets} */
+    HttpUrl wallets() {
+        return wallets;
+    }
+
+    /** {@code GET /api/2025-06-09/wallets/{walletLocator}} */
+    String wallet(String walletLocator) {
+        return walletsPrefix + walletLocator;
+    }
+
+    /** {@code POST /api/v1-alpha2/wallets/{walletLocator}/balances} */
+    HttpUrl balances(String walletLocator) {
+        return urls(walletLocator).balances();
+    }
+
+    /** {@code GET /api/2025-06-09/wallets/{walletLocator}/balances?chains={chain}&tokens={token}} */
+    String walletBalance(String walletLocator, String token) {
+        return urls(walletLocator).walletBalances() + token;
+    }
+
+    /** {@code POST /api/2025-06-09/wallets/{walletLocator}/tokens/{chain}:usdxm/transfers} */
+    HttpUrl transfers(String walletLocator) {
+        return urls(walletLocator).transfers();
+    }
+
+    /** {@code GET /api/2025-06-09/wallets/{walletLocator}/transactions/{transactionId}} */
+    String transaction(String walletLocator, String transactionId) {
+        return urls(walletLocator).transactionsPrefix() + transactionId;
+    }
+
+    /** {@code POST /api/2025-06-09/wallets/{walletLocator}/transactions/{transactionId}/approvals} */
+    String approvals(String walletLocator, String transactionId) {
+        return urls(walletLocator).transactionsPrefix() + transactionId + "/approvals";
+    }
+
+    private WalletUrls urls(String walletLocator) {
+        WalletUrls urls = walletUrls.get(walletLocator);
+        if (urls == null) {
+            if (walletUrls.size() >= MAX_CACHED_WALLETS) {
+                walletUrls.clear();
+            }
+            urls = walletUrls.computeIfAbsent(walletLocator, locator -> new WalletUrls(
+                    HttpUrl.get(walletsPrefix + locator + transfersSuffix),
+                    HttpUrl.get(balancesPrefix + locator + "/balances"),
+                    walletsPrefix + locator + balanceQuery,
+                    walletsPrefix + locator + "/transactions/"));
+        }
+        return urls;
+    }
+}
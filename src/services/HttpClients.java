@@ -0,0 +1,162 @@
+package services;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import utils.Config;
+import utils.Logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds and shares the OkHttp client used by {@link CrossmintService}.
+ * A single client (one connection pool, one dispatcher) should be shared by every service instance talking to
+ * the same Crossmint host; services derive per-instance variants with {@code newBuilder()}, which keeps the pool
+ * and dispatcher shared.
+ */
+public final class HttpClients {
+    private static final Logger logger = new Logger(HttpClients.class);
+
+    private static volatile OkHttpClient shared;
+
+    private HttpClients() {
+    }
+
+    /**
+     * Connection and concurrency settings of a client.
+     *
+     * @param maxIdleConnections idle connections kept in the pool
+     * @param keepAlive          how long an idle connection is kept
+     * @param maxRequests        concurrent requests across all hosts (OkHttp default: 64)
+     * @param maxRequestsPerHost concurrent requests to one host (OkHttp default: 5)
+     * @param http2              negotiate HTTP/2 so concurrent requests share multiplexed streams on one connection
+     * @param connectTimeout     TCP + TLS connect timeout
+     * @param readTimeout        maximum gap between bytes of a response
+     * @param callTimeout        limit for a whole call, including retries and redirects
+     * @param virtualThreads     run the dispatcher on a virtual-thread-per-task executor
+     * @param maxAttempts        attempts per request, including the first, for retryable failures
+     * @param initialLimit       starting adaptive concurrency limit per endpoint
+     * @param maxLimit           ceiling of the adaptive concurrency limit per endpoint
+     */
+    public record Settings(int maxIdleConnections, Duration keepAlive, int maxRequests, int maxRequestsPerHost,
+                           boolean http2, Duration connectTimeout, Duration readTimeout, Duration callTimeout,
+                           boolean virtualThreads, int maxAttempts, int initialLimit, int maxLimit) {
+
+        public static Settings fromConfig() {
+            return new Settings(
+                    Config.HTTP_MAX_IDLE_CONNECTIONS,
+                    Duration.ofSeconds(Config.HTTP_KEEP_ALIVE_SECONDS),
+                    Config.HTTP_MAX_REQUESTS,
+                    Config.HTTP_MAX_REQUESTS_PER_HOST,
+                    Config.HTTP2,
+                    Duration.ofMillis(Config.HTTP_CONNECT_TIMEOUT_MS),
+                    Duration.ofMillis(Config.HTTP_READ_TIMEOUT_MS),
+                    Duration.ofSeconds(30),
+                    Config.VIRTUAL_THREADS,
+                    Config.RETRY_MAX_ATTEMPTS,
+                    Config.CONCURRENCY_LIMIT_INITIAL,
+                    Config.CONCURRENCY_LIMIT_MAX);
+        }
+
+        public Settings withVirtualThreads(boolean virtualThreads) {
+            return new Settings(maxIdleConnections, keepAlive, maxRequests, maxRequestsPerHost, http2,
+                    connectTimeout, readTimeout, callTimeout, virtualThreads, maxAttempts, initialLimit, maxLimit);
+        }
+    }
+
+    /**
+     * The process-wide client built from {@link Settings#fromConfig()}.
+     */
+    public static OkHttpClient shared() {
+        OkHttpClient client = shared;
+        if (client == null) {
+            synchronized (HttpClients.class) {
+                client = shared;
+                if (client == null) {
+                    client = create(Settings.fromConfig());
+                    shared = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Builds a client with its own pool and dispatcher. Requests tagged with an endpoint go through retries
+     * (outer) and the per-endpoint adaptive concurrency limit (inner, so every attempt takes a permit); both are
+     * shared by all services derived from the client.
+     */
+    public static OkHttpClient create(Settings settings) {
+        Dispatcher dispatcher = settings.virtualThreads()
+                ? new Dispatcher(Executors.newVirtualThreadPerTaskExecutor())
+                : new Dispatcher();
+        dispatcher.setMaxRequests(settings.maxRequests());
+        dispatcher.setMaxRequestsPerHost(settings.maxRequestsPerHost());
+
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(settings.maxIdleConnections(),
+                        settings.keepAlive().toMillis(), TimeUnit.MILLISECONDS))
+                .protocols(settings.http2() ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1))
+                // detects dead HTTP/2 connections before requests are multiplexed onto them
+                .pingInterval(settings.http2() ? Duration.ofSeconds(30) : Duration.ZERO)
+                .connectTimeout(settings.connectTimeout())
+                .readTimeout(settings.readTimeout())
+                .callTimeout(settings.callTimeout())
+                .addInterceptor(new RetryInterceptor(settings.maxAttempts(), Duration.ofMillis(200), Duration.ofSeconds(30)))
+                .addInterceptor(new ConcurrencyLimitInterceptor(settings.initialLimit(), settings.maxLimit()))
+                .build();
+    }
+
+    /**
+     * Opens connections to {@code baseUrl} ahead of traffic by sending {@code connections} concurrent HEAD
+     * requests, so the first wave of real requests does not pay for DNS, TCP and TLS handshakes.
+     * Response status is irrelevant. With HTTP/2 a single connection is usually enough.
+     *
+     * @return number of requests that got a response before {@code timeout}
+     */
+    public static int prewarm(OkHttpClient client, String baseUrl, int connections, Duration timeout) {
+        if (connections <= 0) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        CountDownLatch done = new CountDownLatch(connections);
+        AtomicInteger warmed = new AtomicInteger();
+        Request request = new Request.Builder().url(baseUrl).head().build();
+        for (int i = 0; i < connections; i++) {
+            client.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    logger.debug("Prewarm request failed: {}", e.getMessage());
+                    done.countDown();
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    response.close();
+                    warmed.incrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+        try {
+            done.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Prewarmed {}/{} connections to {} in {} ms", warmed.get(), connections, baseUrl,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return warmed.get();
+    }
+}
@@ -0,0 +1,19 @@
+package services;
+
+import java.io.IOException;
+
+/**
+ * An approval signature that failed local verification and was not sent to the Crossmint API.
+ */
+public class InvalidSignatureException extends IOException {
+    private final SignatureVerifier.Result result;
+
+    public InvalidSignatureException(SignatureVerifier.Result result, String message) {
+        super(message);
+        this.result = result;
+    }
+
+    public SignatureVerifier.Result result() {
+        return result;
+    }
+}
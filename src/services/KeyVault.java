@@ -0,0 +1,317 @@
+package services;
+
+import utils.Hex;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Holds many signing keys off-heap, for signer fleets too large to keep as {@link KeypairService.Keypair}s.
+ * Each key takes one fixed-stride slot of a direct buffer, {@code privateKey(32) || address(20)}, and is found
+ * through an open-addressing table of slot numbers keyed by address, so a key costs 52 bytes off-heap plus
+ * 8 bytes of heap and no objects. Keys are copied out only for the duration of a signature (into a scratch
+ * array that is wiped afterwards) and are zeroized on {@link #remove} and {@link #close}.
+ * <p>
+ * The signing math still needs the key as a {@link BigInteger} briefly, which cannot be wiped; it is
+ * short-lived and never retained. Thread-safe: lookups and signing run concurrently, adds and removes are
+ * exclusive.
+ */
+public final class KeyVault implements AutoCloseable {
+    public static final int KEY_BYTES = 32;
+    public static final int ADDRESS_BYTES = 20;
+    private static final int STRIDE = KEY_BYTES + ADDRESS_BYTES;
+    private static final int EMPTY = 0;
+    /** shared: callers are often short-lived virtual threads, which would seed a new one per call */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final ByteBuffer slots;
+    private final int capacity;
+    /** slot + 1 per entry or {@link #EMPTY}; linear probing, at most half full, no tombstones */
+    private final int[] table;
+    private final int mask;
+    /** slots freed by {@link #remove}, reused before new ones */
+    private final int[] free;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int freeCount;
+    private int used;
+    private int size;
+    private boolean closed;
+
+    /**
+     * @param capacity maximum number of keys held at once; the off-heap buffer is allocated up front
+     */
+    public KeyVault(int capacity) {
+        if (capacity <= 0 || (long) capacity * STRIDE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Unsupported capacity " + capacity);
+        }
+        this.capacity = capacity;
+        slots = ByteBuffer.allocateDirect(capacity * STRIDE);
+        table = new int[Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1];
+        mask = table.length - 1;
+        free = new int[capacity];
+    }
+
+    /**
+     * Generates a key directly into the vault and returns its address. The key exists on the heap only as
+     * transient scratch data while its address is computed.
+     */
+    public String generate() {
+        byte[] scratch = new byte[STRIDE];
+        try {
+            BigInteger privateKey;
+            do {
+                RANDOM.nextBytes(scratch);
+                privateKey = new BigInteger(1, scratch, 0, KEY_BYTES);
+            } while (privateKey.signum() == 0 || privateKey.compareTo(Secp256k1.order()) >= 0);
+            Secp256k1.address(privateKey, scratch, KEY_BYTES);
+            insert(scratch);
+            return Hex.toPrefixedHex(scratch, KEY_BYTES, ADDRESS_BYTES);
+        } finally {
+            Arrays.fill(scratch, (byte) 0);
+        }
+    }
+
+    /**
+     * Adds an existing key; {@code privateKey} is copied and may be wiped by the caller afterwards.
+     */
+    public void add(byte[] privateKey, byte[] address) {
+        if (privateKey.length != KEY_BYTES || address.length != ADDRESS_BYTES) {
+            throw new IllegalArgumentException("Expected a 32-byte key and a 20-byte address");
+        }
+        byte[] scratch = new byte[STRIDE];
+        try {
+            System.arraycopy(privateKey, 0, scratch, 0, KEY_BYTES);
+            System.arraycopy(address, 0, scratch, KEY_BYTES, ADDRESS_BYTES);
+            insert(scratch);
+        } finally {
+            Arrays.fill(scratch, (byte) 0);
+        }
+    }
+
+    /**
+     * Adds a key from hex, e.g. {@code add(keypair.privateKeyHex, keypair.address)}.
+     */
+    public void add(String privateKeyHex, String address) {
+        byte[] scratch = new byte[STRIDE];
+        try {
+            decodeAddress(address, scratch, KEY_BYTES);
+            if (Hex.decodedLength(privateKeyHex) != KEY_BYTES) {
+                throw new IllegalArgumentException("Expected a 32-byte private key");
+            }
+            Hex.decode(privateKeyHex, scratch, 0);
+            insert(scratch);
+        } finally {
+            Arrays.fill(scratch, (byte) 0);
+        }
+    }
+
+    public boolean contains(String address) {
+        byte[] key = new byte[ADDRESS_BYTES];
+        decodeAddress(address, key, 0);
+        lock.readLock().lock();
+        try {
+            return find(key, 0) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Signs {@code message} with the EIP-191 prefix using the key of {@code address} and writes
+     * {@code r(32) || s(32) || v(1)} to {@code out[offset, offset + 65)}, like {@link MessageSigner#sign}.
+     *
+     * @throws IllegalArgumentException if the vault holds no key for {@code address}
+     */
+    public void sign(String address, byte[] message, byte[] out, int offset) {
+        byte[] scratch = new byte[STRIDE];
+        try {
+            decodeAddress(address, scratch, KEY_BYTES);
+            lock.readLock().lock();
+            try {
+                int slot = find(scratch, KEY_BYTES);
+                if (slot < 0) {
+                    throw new IllegalArgumentException("No key for " + address);
+                }
+                slots.get(slot * STRIDE, scratch, 0, KEY_BYTES);
+            } finally {
+                lock.readLock().unlock();
+            }
+            BigInteger privateKey = new BigInteger(1, scratch, 0, KEY_BYTES);
+            Arrays.fill(scratch, (byte) 0);
+            Secp256k1.sign(Secp256k1.prefixedMessageHash(message), privateKey, out, offset);
+        } finally {
+            Arrays.fill(scratch, (byte) 0);
+        }
+    }
+
+    /**
+     * Signs a hex message (e.g. {@code approvals.pending[0].message}) and returns {@code 0x[r][s][v]}.
+     */
+    public String signHex(String address, String messageHex) {
+        byte[] signature = new byte[MessageSigner.SIGNATURE_LENGTH];
+        sign(address, Hex.decode(messageHex), signature, 0);
+        return Hex.toPrefixedHex(signature);
+    }
+
+    /**
+     * Zeroizes and forgets the key of {@code address}; returns false if there was none.
+     */
+    public boolean remove(String address) {
+        byte[] key = new byte[ADDRESS_BYTES];
+        decodeAddress(address, key, 0);
+        lock.writeLock().lock();
+        try {
+            int index = findIndex(key, 0);
+            if (index < 0) {
+                return false;
+            }
+            int slot = table[index] - 1;
+            unlink(index);
+            wipe(slot);
+            free[freeCount++] = slot;
+            size--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Zeroizes every slot. The buffer itself is released by the GC like any direct buffer.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            for (int slot = 0; slot < used; slot++) {
+                wipe(slot);
+            }
+            Arrays.fill(table, EMPTY);
+            size = 0;
+            used = 0;
+            freeCount = 0;
+            closed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stores {@code entry} ({@code key || address}); replaces the key if the address is already present.
+     */
+    private void insert(byte[] entry) {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Key vault is closed");
+            }
+            int existing = findIndex(entry, KEY_BYTES);
+            int slot;
+            if (existing >= 0) {
+                slot = table[existing] - 1;
+            } else {
+                if (size == capacity) {
+                    throw new IllegalStateException("Key vault is full (" + capacity + " keys)");
+                }
+                slot = freeCount > 0 ? free[--freeCount] : used++;
+                int index = hash(entry, KEY_BYTES) & mask;
+                while (table[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                table[index] = slot + 1;
+                size++;
+            }
+            slots.put(slot * STRIDE, entry, 0, STRIDE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int find(byte[] address, int offset) {
+        int index = findIndex(address, offset);
+        return index < 0 ? -1 : table[index] - 1;
+    }
+
+    /**
+     * Table index holding {@code address}, or -1. Callers hold the lock.
+     */
+    private int findIndex(byte[] address, int offset) {
+        int index = hash(address, offset) & mask;
+        for (int probes = 0; probes < table.length; probes++) {
+            int entry = table[index];
+            if (entry == EMPTY) {
+                return -1;
+            }
+            if (addressEquals(entry - 1, address, offset)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empties table index {@code hole} by backward-shift deletion: later entries of the probe run move up into the
+     * hole unless that would put them before their home index. Every run stays contiguous, so a miss still stops at
+     * the first empty index however many keys have come and gone. Callers hold the write lock.
+     */
+    private void unlink(int hole) {
+        for (int index = (hole + 1) & mask; table[index] != EMPTY; index = (index + 1) & mask) {
+            int home = slots.getInt((table[index] - 1) * STRIDE + KEY_BYTES) & mask;
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                table[hole] = table[index];
+                hole = index;
+            }
+        }
+        table[hole] = EMPTY;
+    }
+
+    private boolean addressEquals(int slot, byte[] address, int offset) {
+        int base = slot * STRIDE + KEY_BYTES;
+        for (int i = 0; i < ADDRESS_BYTES; i++) {
+            if (slots.get(base + i) != address[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void wipe(int slot) {
+        int base = slot * STRIDE;
+        for (int i = 0; i < STRIDE; i++) {
+            slots.put(base + i, (byte) 0);
+        }
+    }
+
+    /**
+     * Addresses are keccak output, so their leading bytes are already uniformly distributed. Equal to
+     * {@code slots.getInt} of the stored address, which {@link #unlink} relies on.
+     */
+    private static int hash(byte[] address, int offset) {
+        return (address[offset] & 0xFF) << 24 | (address[offset + 1] & 0xFF) << 16
+                | (address[offset + 2] & 0xFF) << 8 | (address[offset + 3] & 0xFF);
+    }
+
+    private static void decodeAddress(String address, byte[] out, int offset) {
+        if (Hex.decodedLength(address) != ADDRESS_BYTES) {
+            throw new IllegalArgumentException("Not an address: " + address);
+        }
+        Hex.decode(address, out, offset);
+    }
+}
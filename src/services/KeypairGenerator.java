@@ -0,0 +1,124 @@
+package services;
+
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Keys;
+import utils.Hex;
+import utils.Logger;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Thread-safe EVM keypair generation with a reserve of pre-generated keypairs.
+ * Background workers (one per core by default) keep a bounded reserve topped up, so {@link #next()} usually
+ * returns without paying for EC point multiplication on the caller's thread. Workers block while the reserve
+ * is full and resume as keypairs are taken. {@link KeypairService} and {@link WalletProvisioner} draw from the
+ * process-wide {@link #shared()} generator.
+ */
+public final class KeypairGenerator implements AutoCloseable {
+    private static final Logger logger = new Logger(KeypairGenerator.class);
+
+    /** secp256k1 group order; private keys must lie in [1, n - 1]. */
+    private static final BigInteger CURVE_ORDER =
+            new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141", 16);
+    /** thread-safe; one instance serves the reserve workers and inline callers alike */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static volatile KeypairGenerator shared;
+
+    private final BlockingQueue<KeypairService.Keypair> reserve;
+    private final List<Thread> workers = new ArrayList<>();
+
+    public KeypairGenerator() {
+        this(Runtime.getRuntime().availableProcessors(), 1024);
+    }
+
+    /**
+     * @param threads     background threads refilling the reserve
+     * @param reserveSize maximum number of ready keypairs held
+     */
+    public KeypairGenerator(int threads, int reserveSize) {
+        reserve = new ArrayBlockingQueue<>(reserveSize);
+        for (int i = 0; i < threads; i++) {
+            workers.add(Thread.ofPlatform().daemon().name("keypair-generator-" + i).start(this::refill));
+        }
+    }
+
+    /**
+     * The process-wide generator, started on first use and closed when the JVM shuts down.
+     */
+    public static KeypairGenerator shared() {
+        KeypairGenerator generator = shared;
+        if (generator == null) {
+            synchronized (KeypairGenerator.class) {
+                generator = shared;
+                if (generator == null) {
+                    generator = new KeypairGenerator();
+                    Runtime.getRuntime().addShutdownHook(new Thread(generator::close, "keypair-generator-shutdown"));
+                    shared = generator;
+                }
+            }
+        }
+        return generator;
+    }
+
+    /**
+     * Generates a keypair on the calling thread.
+     */
+    public static KeypairService.Keypair generate() {
+        byte[] privateKeyBytes = new byte[32];
+        BigInteger privateKey;
+        do {
+            RANDOM.nextBytes(privateKeyBytes);
+            privateKey = new BigInteger(1, privateKeyBytes);
+        } while (privateKey.signum() == 0 || privateKey.compareTo(CURVE_ORDER) >= 0);
+
+        ECKeyPair keyPair = ECKeyPair.create(privateKey);
+        String address = "0x" + Keys.getAddress(keyPair.getPublicKey());
+        return new KeypairService.Keypair(Hex.toPrefixedHex(privateKeyBytes), address, keyPair);
+    }
+
+    /**
+     * Takes a keypair from the reserve, generating one inline if the reserve is empty.
+     */
+    public KeypairService.Keypair next() {
+        KeypairService.Keypair keypair = reserve.poll();
+        return keypair != null ? keypair : generate();
+    }
+
+    /**
+     * Takes a keypair from the reserve, waiting for the workers if it is empty.
+     */
+    public KeypairService.Keypair take() throws InterruptedException {
+        return reserve.take();
+    }
+
+    /**
+     * Number of keypairs ready in the reserve.
+     */
+    public int available() {
+        return reserve.size();
+    }
+
+    @Override
+    public void close() {
+        workers.forEach(Thread::interrupt);
+        reserve.clear();
+    }
+
+    private void refill() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                reserve.put(generate());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Keypair generator worker stopped: {}", e.getMessage());
+        }
+    }
+}
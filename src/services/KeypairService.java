@@ -1,11 +1,9 @@
+package services;
+
 import org.web3j.crypto.ECKeyPair;
-import org.web3j.crypto.Hash;
-import org.web3j.crypto.Keys;
-import org.web3j.crypto.Sign;
 import org.web3j.utils.Numeric;
-
-import java.math.BigInteger;
-import java.security.SecureRandom;
+import utils.Hex;
+import utils.Logger;
 
 /**
  * Service for generating EVM keypairs and signing messages for Crossmint transactions.
@@ -13,7 +11,9 @@ import java.security.SecureRandom;
 public class KeypairService {
     private static final Logger logger = new Logger(KeypairService.class);
 
+    private final KeypairGenerator generator;
     private ECKeyPair keyPair;
+    private MessageSigner signer;
     private String address;
 
     /**
@@ -31,24 +31,33 @@ public class KeypairService {
         }
     }
 
+    public KeypairService() {
+        this(KeypairGenerator.shared());
+    }
+
+    /**
+     * @param generator source of new keypairs, normally {@link KeypairGenerator#shared()}
+     */
+    public KeypairService(KeypairGenerator generator) {
+        this.generator = generator;
+    }
+
     /**
-     * Generates a new EVM keypair using secure random.
+     * Takes a new EVM keypair from the generator's reserve and makes it the current keypair.
+     * This instance is not thread-safe; use {@link KeypairGenerator} to generate keys concurrently.
      */
     public Keypair generateKeypair() {
         try {
             logger.info("Generating new EVM keypair...");
-            SecureRandom random = new SecureRandom();
-            byte[] privateKeyBytes = new byte[32];
-            random.nextBytes(privateKeyBytes);
-            BigInteger privateKey = new BigInteger(1, privateKeyBytes);
+            Keypair keypair = generator.next();
 
-            keyPair = ECKeyPair.create(privateKey);
-            address = "0x" + Keys.getAddress(keyPair.getPublicKey());
+            keyPair = keypair.keyPair;
+            signer = new MessageSigner(keyPair);
+            address = keypair.address;
 
-            String privateKeyHex = Numeric.toHexStringNoPrefixZeroPadded(keyPair.getPrivateKey(), 64);
             logger.success("Generated keypair for address: {}", address);
 
-            return new Keypair("0x" + privateKeyHex, address, keyPair);
+            return keypair;
         } catch (Exception e) {
             logger.error("Failed to generate keypair: {}", e.getMessage());
             throw new RuntimeException(e);
@@ -68,6 +77,13 @@ public class KeypairService {
         return keyPair;
     }
 
+    /**
+     * Signer for the current keypair, with the key already parsed; null before {@link #generateKeypair()}.
+     */
+    public MessageSigner getSigner() {
+        return signer;
+    }
+
     /**
      * Signs a message hash for Crossmint transaction approval.
      * Uses signPrefixedMessage to match viem's behavior with raw message signing.
@@ -80,8 +96,7 @@ public class KeypairService {
         logger.info("Signing message hash: {}", messageHash);
 
         try {
-            String privateKeyHex = getPrivateKey();
-            String signature = signMessage(messageHash, privateKeyHex);
+            String signature = signer.signHex(messageHash);
             logger.success("Message hash signed successfully");
             
             return signature;
@@ -100,42 +115,8 @@ public class KeypairService {
      * @return Hex-encoded signature in format: 0x[r][s][v] (132 chars total)
      */
     public static String signMessage(String messageHex, String privateKeyHex) {
-        // Remove 0x prefix if present
-        String cleanMessage = messageHex.startsWith("0x") ? messageHex.substring(2) : messageHex;
-        String cleanPrivateKey = privateKeyHex.startsWith("0x") ? privateKeyHex.substring(2) : privateKeyHex;
-          
-        // Convert hex strings to byte arrays
-        byte[] messageBytes = Numeric.hexStringToByteArray(cleanMessage);
-        byte[] privateKeyBytes = Numeric.hexStringToByteArray(cleanPrivateKey);
-          
-        // Create key pair from private key
-        ECKeyPair keyPair = ECKeyPair.create(privateKeyBytes);
-          
-        // Use signPrefixedMessage to match viem's behavior with raw message signing
-        Sign.SignatureData signature = Sign.signPrefixedMessage(messageBytes, keyPair);
-          
-        // Extract r, s, v components
-        byte[] r = signature.getR();
-        byte[] s = signature.getS();
-        byte[] v = signature.getV();
-          
-        // Convert to hex and ensure proper padding
-        String rHex = padLeft(Numeric.toHexStringNoPrefix(r), 64);
-        String sHex = padLeft(Numeric.toHexStringNoPrefix(s), 64);
-        String vHex = Numeric.toHexStringNoPrefix(v);
-          
-        // Combine into final signature: 0x + r(64) + s(64) + v(2)
-        return "0x" + rHex + sHex + vHex;
-    }
-      
-    /**
-     * Pads a hex string with leading zeros to reach target length.
-     */
-    private static String padLeft(String str, int length) {
-        while (str.length() < length) {
-            str = "0" + str;
-        }
-        return str;
+        // Parses the key on every call; hold on to a MessageSigner when signing repeatedly with one key
+        return MessageSigner.fromPrivateKeyHex(privateKeyHex).signHex(messageHex);
     }
 
     /**
@@ -0,0 +1,129 @@
+package services;
+
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Keys;
+import org.web3j.crypto.Sign;
+import utils.Hex;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Signs Crossmint approval messages with one parsed private key.
+ * The key is parsed once, and signatures are written as 65 raw bytes ({@code r || s || v}) into a
+ * caller-provided buffer. Signatures use the EIP-191 prefix to match viem's raw message signing.
+ * Instances are immutable and safe to share across threads.
+ */
+public final class MessageSigner {
+    public static final int SIGNATURE_LENGTH = 65;
+    private static final int BATCH_THRESHOLD = 16;
+
+    private final ECKeyPair keyPair;
+
+    public MessageSigner(ECKeyPair keyPair) {
+        this.keyPair = keyPair;
+    }
+
+    /**
+     * @throws IllegalArgumentException unless {@code privateKeyHex} is a valid 32-byte secp256k1 key
+     */
+    public static MessageSigner fromPrivateKeyHex(String privateKeyHex) {
+        if (privateKeyHex == null || Hex.decodedLength(privateKeyHex) != 32) {
+            throw new IllegalArgumentException("Private key must be 32 bytes of hex");
+        }
+        BigInteger key = new BigInteger(1, Hex.decode(privateKeyHex));
+        if (key.signum() == 0 || key.compareTo(Secp256k1.order()) >= 0) {
+            throw new IllegalArgumentException("Private key is out of range");
+        }
+        return new MessageSigner(ECKeyPair.create(key));
+    }
+
+    public ECKeyPair getKeyPair() {
+        return keyPair;
+    }
+
+    /**
+     * The signer's address, {@code 0x}-prefixed lowercase hex.
+     */
+    public String address() {
+        return "0x" + Keys.getAddress(keyPair.getPublicKey());
+    }
+
+    /**
+     * Signs {@code message} and writes {@code r(32) || s(32) || v(1)} to {@code out[offset, offset + 65)}.
+     */
+    public void sign(byte[] message, byte[] out, int offset) {
+        Sign.SignatureData signature = Sign.signPrefixedMessage(message, keyPair);
+        copyRightAligned(signature.getR(), out, offset, 32);
+        copyRightAligned(signature.getS(), out, offset + 32, 32);
+        byte[] v = signature.getV();
+        out[offset + 64] = v[v.length - 1];
+    }
+
+    /**
+     * Signs a hex message (e.g. {@code approvals.pending[0].message}) and returns {@code 0x[r][s][v]}.
+     */
+    public String signHex(String messageHex) {
+        byte[] signature = new byte[SIGNATURE_LENGTH];
+        sign(Hex.decode(messageHex), signature, 0);
+        return Hex.toPrefixedHex(signature);
+    }
+
+    /**
+     * Signs every message in parallel on the common fork-join pool.
+     *
+     * @return signatures back to back: signature {@code i} is at {@code [i * 65, (i + 1) * 65)}
+     */
+    public byte[] signBatch(List<byte[]> messages) {
+        byte[] out = new byte[messages.size() * SIGNATURE_LENGTH];
+        signBatch(messages, out);
+        return out;
+    }
+
+    /**
+     * Like {@link #signBatch(List)} but writes into {@code out}, which must hold {@code messages.size() * 65} bytes.
+     */
+    public void signBatch(List<byte[]> messages, byte[] out) {
+        if (out.length < messages.size() * SIGNATURE_LENGTH) {
+            throw new IllegalArgumentException("Output buffer too small for " + messages.size() + " signatures");
+        }
+        ForkJoinPool.commonPool().invoke(new BatchTask(messages, out, 0, messages.size()));
+    }
+
+    private static void copyRightAligned(byte[] src, byte[] dst, int offset, int width) {
+        int length = Math.min(src.length, width);
+        int pad = width - length;
+        for (int i = 0; i < pad; i++) {
+            dst[offset + i] = 0;
+        }
+        System.arraycopy(src, src.length - length, dst, offset + pad, length);
+    }
+
+    private final class BatchTask extends RecursiveAction {
+        private final List<byte[]> messages;
+        private final byte[] out;
+        private final int from;
+        private final int to;
+
+        BatchTask(List<byte[]> messages, byte[] out, int from, int to) {
+            this.messages = messages;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    sign(messages.get(i), out, i * SIGNATURE_LENGTH);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchTask(messages, out, from, mid), new BatchTask(messages, out, mid, to));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package services;
+
+import utils.Logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Repeats a non-blocking check until its result satisfies a condition, with geometric backoff between attempts.
+ * All pollers share one scheduler thread, which only fires timers; the checks themselves are async calls, so
+ * no thread is parked while waiting, however many polls are pending.
+ */
+final class Poller {
+    private static final Logger logger = new Logger(Poller.class);
+
+    private static final class Shared {
+        static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "crossmint-poller");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private final long initialDelayMs;
+    private final long maxDelayMs;
+    private final double backoffFactor;
+    private final long timeoutMs;
+
+    /**
+     * @param initialDelay  delay before the first attempt
+     * @param maxDelay      ceiling for the backed-off delay between attempts
+     * @param backoffFactor multiplier applied to the delay after every unsatisfied attempt
+     * @param timeout       how long to keep polling before the future fails
+     */
+    Poller(Duration initialDelay, Duration maxDelay, double backoffFactor, Duration timeout) {
+        this.initialDelayMs = initialDelay.toMillis();
+        this.maxDelayMs = maxDelay.toMillis();
+        this.backoffFactor = backoffFactor;
+        this.timeoutMs = timeout.toMillis();
+    }
+
+    /**
+     * Starts polling. The future completes with the first result accepted by {@code done}, or exceptionally on
+     * timeout; failed attempts are logged and retried. Cancelling the future stops polling.
+     *
+     * @param description what is awaited, for log and timeout messages
+     */
+    <T> CompletableFuture<T> poll(String description, Supplier<CompletableFuture<T>> attempt, Predicate<T> done) {
+        Poll<T> poll = new Poll<>(description, attempt, done);
+        poll.schedule(initialDelayMs);
+        return poll.future;
+    }
+
+    private final class Poll<T> {
+        final String description;
+        final Supplier<CompletableFuture<T>> attempt;
+        final Predicate<T> done;
+        final long deadline = System.currentTimeMillis() + timeoutMs;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        long delayMs = initialDelayMs;
+        int attempts;
+
+        Poll(String description, Supplier<CompletableFuture<T>> attempt, Predicate<T> done) {
+            this.description = description;
+            this.attempt = attempt;
+            this.done = done;
+        }
+
+        void schedule(long delay) {
+            // +/-10% jitter keeps polls started together from hitting the API in lockstep
+            long jittered = (long) (delay * ThreadLocalRandom.current().nextDouble(0.9, 1.1));
+            Shared.SCHEDULER.schedule(this::poll, jittered, TimeUnit.MILLISECONDS);
+        }
+
+        void poll() {
+            if (future.isDone()) {
+                return;
+            }
+            attempts++;
+            CompletableFuture<T> check;
+            try {
+                check = attempt.get();
+            } catch (RuntimeException e) {
+                // e.g. a closed client rejecting the call; counts as a failed attempt like an async failure
+                check = CompletableFuture.failedFuture(e);
+            }
+            check.whenComplete((result, e) -> {
+                boolean satisfied;
+                try {
+                    satisfied = e == null && done.test(result);
+                } catch (RuntimeException testFailure) {
+                    future.completeExceptionally(testFailure);
+                    return;
+                }
+                if (satisfied) {
+                    future.complete(result);
+                    return;
+                }
+                if (logger.isDebugEnabled()) {
+                    if (e != null) {
+                        logger.debug("Error polling {} (attempt {}): {}", description, attempts, e.getMessage());
+                    } else {
+                        logger.debug("Still waiting for {} (attempt {})", description, attempts);
+                    }
+                }
+                next();
+            });
+        }
+
+        void next() {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                future.completeExceptionally(new IOException(
+                        "Gave up waiting for " + description + " after " + attempts + " attempts"));
+                return;
+            }
+            delayMs = Math.min(maxDelayMs, (long) (delayMs * backoffFactor));
+            schedule(Math.min(delayMs, remaining));
+        }
+    }
+}
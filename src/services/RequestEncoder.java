@@ -0,0 +1,200 @@
+package services;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes Crossmint request payloads from precompiled byte templates.
+ * Each payload is a fixed JSON skeleton with one to three string values spliced in, so the encoder sizes the
+ * output exactly, allocates the one {@code byte[]} that goes on the wire and writes the escaped values into it.
+ * No {@code ObjectNode} tree or intermediate {@code String} is built.
+ */
+public final class RequestEncoder {
+    private static final byte[] CREATE_WALLET_PREFIX = ascii("{\"config\":{\"adminSigner\":{\"type\":\"external-wallet\",\"address\":\"");
+    private static final byte[] CREATE_WALLET_SUFFIX = ascii("\"}},\"type\":\"smart\",\"chainType\":\"evm\"}");
+    private static final byte[] FUND_PREFIX = ascii("{\"amount\":");
+    private static final byte[] TRANSFER_PREFIX = ascii("{\"recipient\":\"");
+    private static final byte[] TRANSFER_AMOUNT = ascii("\",\"amount\":\"");
+    private static final byte[] TRANSFER_SUFFIX = ascii("\"}");
+    private static final byte[] APPROVAL_PREFIX = ascii("{\"approvals\":[{\"signer\":\"");
+    private static final byte[] APPROVAL_SIGNATURE = ascii("\",\"signature\":\"");
+    private static final byte[] APPROVAL_SUFFIX = ascii("\"}]}");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+
+    private final byte[] fundSuffix;
+
+    /**
+     * @param network chain name baked into the funding template, e.g. {@code base-sepolia}
+     */
+    public RequestEncoder(String network) {
+        byte[] chain = new byte[escapedLength(network)];
+        writeEscaped(network, chain, 0);
+        fundSuffix = concat(ascii(",\"token\":\"usdxm\",\"chain\":\""), chain, ascii("\"}"));
+    }
+
+    /**
+     * {@code {"config":{"adminSigner":{"type":"external-wallet","address":...}},"type":"smart","chainType":"evm"}}
+     */
+    public byte[] createWallet(String address) {
+        byte[] out = new byte[CREATE_WALLET_PREFIX.length + escapedLength(address) + CREATE_WALLET_SUFFIX.length];
+        int pos = put(CREATE_WALLET_PREFIX, out, 0);
+        pos = writeEscaped(address, out, pos);
+        put(CREATE_WALLET_SUFFIX, out, pos);
+        return out;
+    }
+
+    /**
+     * {@code {"amount":<int>,"token":"usdxm","chain":...}}
+     */
+    public byte[] fundWallet(int amount) {
+        byte[] out = new byte[FUND_PREFIX.length + intLength(amount) + fundSuffix.length];
+        int pos = put(FUND_PREFIX, out, 0);
+        pos = writeInt(amount, out, pos);
+        put(fundSuffix, out, pos);
+        return out;
+    }
+
+    /**
+     * {@code {"recipient":...,"amount":...}}
+     */
+    public byte[] createTransaction(String recipient, String amount) {
+        byte[] out = new byte[TRANSFER_PREFIX.length + escapedLength(recipient) + TRANSFER_AMOUNT.length
+                + escapedLength(amount) + TRANSFER_SUFFIX.length];
+        int pos = put(TRANSFER_PREFIX, out, 0);
+        pos = writeEscaped(recipient, out, pos);
+        pos = put(TRANSFER_AMOUNT, out, pos);
+        pos = writeEscaped(amount, out, pos);
+        put(TRANSFER_SUFFIX, out, pos);
+        return out;
+    }
+
+    /**
+     * {@code {"approvals":[{"signer":...,"signature":...}]}}
+     */
+    public byte[] approveTransaction(String signerLocator, String signature) {
+        byte[] out = new byte[APPROVAL_PREFIX.length + escapedLength(signerLocator) + APPROVAL_SIGNATURE.length
+                + escapedLength(signature) + APPROVAL_SUFFIX.length];
+        int pos = put(APPROVAL_PREFIX, out, 0);
+        pos = writeEscaped(signerLocator, out, pos);
+        pos = put(APPROVAL_SIGNATURE, out, pos);
+        pos = writeEscaped(signature, out, pos);
+        put(APPROVAL_SUFFIX, out, pos);
+        return out;
+    }
+
+    /**
+     * Number of bytes {@code value} takes as the UTF-8 content of a JSON string literal.
+     */
+    static int escapedLength(String value) {
+        int length = 0;
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c == '\n' || c == '\r' || c == '\t' || c == '\b' || c == '\f') {
+                length += 2;
+            } else if (c < 0x20) {
+                length += 6;
+            } else if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Writes {@code value} escaped as JSON string content (no quotes); returns the position after it.
+     */
+    static int writeEscaped(String value, byte[] out, int pos) {
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                out[pos++] = (byte) c;
+            } else if (c < 0x80) {
+                out[pos++] = '\\';
+                switch (c) {
+                    case '"' -> out[pos++] = '"';
+                    case '\\' -> out[pos++] = '\\';
+                    case '\n' -> out[pos++] = 'n';
+                    case '\r' -> out[pos++] = 'r';
+                    case '\t' -> out[pos++] = 't';
+                    case '\b' -> out[pos++] = 'b';
+                    case '\f' -> out[pos++] = 'f';
+                    default -> {
+                        out[pos++] = 'u';
+                        out[pos++] = '0';
+                        out[pos++] = '0';
+                        out[pos++] = HEX[c >> 4];
+                        out[pos++] = HEX[c & 0xF];
+                    }
+                }
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | (c >> 6));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                out[pos++] = (byte) (0xF0 | (cp >> 18));
+                out[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                out[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else {
+                out[pos++] = (byte) (0xE0 | (c >> 12));
+                out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return pos;
+    }
+
+    private static int intLength(int value) {
+        if (value == Integer.MIN_VALUE) {
+            return 11;
+        }
+        int length = value < 0 ? 2 : 1;
+        for (int v = Math.abs(value); v >= 10; v /= 10) {
+            length++;
+        }
+        return length;
+    }
+
+    private static int writeInt(int value, byte[] out, int pos) {
+        int end = pos + intLength(value);
+        long v = value;
+        if (v < 0) {
+            out[pos] = '-';
+            v = -v;
+        }
+        int i = end;
+        do {
+            out[--i] = (byte) ('0' + (v % 10));
+            v /= 10;
+        } while (v != 0);
+        return end;
+    }
+
+    private static int put(byte[] src, byte[] out, int pos) {
+        System.arraycopy(src, 0, out, pos, src.length);
+        return pos + src.length;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] out = new byte[length];
+        int pos = 0;
+        for (byte[] part : parts) {
+            pos = put(part, out, pos);
+        }
+        return out;
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
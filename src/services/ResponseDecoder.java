@@ -0,0 +1,282 @@
+package services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes Crossmint responses straight from the response byte stream with Jackson's streaming parser.
+ * Only the fields of {@link Wallet} and {@link Transaction} are materialized; everything else
+ * (user operations, call params, timestamps...) is skipped without building strings or nodes.
+ */
+public final class ResponseDecoder {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private ResponseDecoder() {
+    }
+
+    /**
+     * Decodes one value from a response body.
+     */
+    @FunctionalInterface
+    public interface Decoder<T> {
+        T decode(InputStream in) throws IOException;
+    }
+
+    public static Wallet readWallet(InputStream in) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            String address = "";
+            String locator = "";
+            String id = "";
+            String walletId = "";
+            String adminSigner = "";
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "address" -> address = text(parser);
+                    case "locator" -> locator = text(parser);
+                    case "id" -> id = text(parser);
+                    case "walletId" -> walletId = text(parser);
+                    case "config" -> {
+                        if (token == JsonToken.START_OBJECT) {
+                            adminSigner = readAdminSigner(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            if (locator.isEmpty()) {
+                locator = !id.isEmpty() ? id : walletId;
+            }
+            return new Wallet(address, locator, adminSigner);
+        }
+    }
+
+    /**
+     * {@code config.adminSigner.address} of a wallet, with the parser on the {@code config} object.
+     */
+    private static String readAdminSigner(JsonParser parser) throws IOException {
+        String address = "";
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("adminSigner".equals(field) && token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String signerField = parser.currentName();
+                    parser.nextToken();
+                    if ("address".equals(signerField)) {
+                        address = text(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return address;
+    }
+
+    public static Transaction readTransaction(InputStream in) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            return readTransaction(parser);
+        }
+    }
+
+    /**
+     * Reads a webhook delivery: its {@code type} and, for transaction events, the transaction in {@code data}.
+     * Events about anything else come back with a null transaction.
+     *
+     * @param id the delivery's {@code svix-id}
+     */
+    public static WebhookEvent readWebhookEvent(String id, InputStream in) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            String type = "";
+            Transaction transaction = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("type".equals(field)) {
+                    type = text(parser);
+                } else if ("data".equals(field) && token == JsonToken.START_OBJECT) {
+                    // fields may come in any order, so the data is read as a transaction and dropped if it is not one
+                    transaction = readTransaction(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (transaction != null && (!type.contains("transaction") || transaction.id().isEmpty())) {
+                transaction = null;
+            }
+            return new WebhookEvent(id, type, transaction);
+        }
+    }
+
+    /**
+     * Reads a transaction object; {@code parser} is on its {@code START_OBJECT} and ends on its {@code END_OBJECT}.
+     */
+    private static Transaction readTransaction(JsonParser parser) throws IOException {
+        String id = "";
+        String status = "";
+        String txHash = "";
+        String onChainTxId = "";
+        List<Transaction.PendingApproval> pending = List.of();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "id" -> id = text(parser);
+                case "status" -> status = text(parser);
+                case "txHash" -> txHash = text(parser);
+                case "approvals" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        pending = readApprovals(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "onChain" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        onChainTxId = readOnChainTxId(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return new Transaction(id, status, pending, onChainTxId.isEmpty() ? txHash : onChainTxId);
+    }
+
+    private static List<Transaction.PendingApproval> readApprovals(JsonParser parser) throws IOException {
+        List<Transaction.PendingApproval> pending = List.of();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("pending".equals(field) && token == JsonToken.START_ARRAY) {
+                pending = new ArrayList<>(1);
+                while (nextObject(parser)) {
+                    pending.add(readPendingApproval(parser));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return pending;
+    }
+
+    private static Transaction.PendingApproval readPendingApproval(JsonParser parser) throws IOException {
+        String signerLocator = "";
+        String message = "";
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("message".equals(field)) {
+                message = text(parser);
+            } else if ("signer".equals(field) && token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String signerField = parser.currentName();
+                    parser.nextToken();
+                    if ("locator".equals(signerField)) {
+                        signerLocator = text(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new Transaction.PendingApproval(signerLocator, message);
+    }
+
+    private static String readOnChainTxId(JsonParser parser) throws IOException {
+        String txId = "";
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("txId".equals(field)) {
+                txId = text(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return txId;
+    }
+
+    /**
+     * Reads the amount of {@code token} from a wallet balances response, an array with one entry per token;
+     * zero when the wallet holds none of it.
+     */
+    public static BigDecimal readBalance(InputStream in, String token) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_ARRAY);
+            while (nextObject(parser)) {
+                String symbol = "";
+                String amount = "";
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "symbol", "token" -> symbol = text(parser);
+                        case "amount" -> amount = text(parser);
+                        default -> parser.skipChildren();
+                    }
+                }
+                if (symbol.equalsIgnoreCase(token) && !amount.isEmpty()) {
+                    return new BigDecimal(amount);
+                }
+            }
+            return BigDecimal.ZERO;
+        }
+    }
+
+    /**
+     * Scalar value as text, matching {@code JsonNode.asText()} for the string fields we read; null and
+     * structured values become empty strings.
+     */
+    private static String text(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return "";
+        }
+        String value = parser.getValueAsString();
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Advances to the next object element of the current array, skipping null, scalar and array elements;
+     * false once the array has ended.
+     */
+    private static boolean nextObject(JsonParser parser) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IOException("Unterminated array");
+            }
+            if (token == JsonToken.START_OBJECT) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but got " + actual);
+        }
+    }
+}
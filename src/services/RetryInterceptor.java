@@ -0,0 +1,147 @@
+package services;
+
+import metrics.Endpoint;
+import metrics.Metrics;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retries throttled and transiently failed Crossmint requests.
+ * <ul>
+ *   <li>429 is retried for every request: the server rejected it without processing it.</li>
+ *   <li>5xx and I/O errors are retried only for idempotent requests: GET/HEAD, or requests carrying an
+ *       {@value CrossmintService#IDEMPOTENCY_KEY_HEADER} header, which the server uses to apply them once.</li>
+ *   <li>The delay honours {@code Retry-After} and otherwise uses full-jitter exponential backoff.</li>
+ *   <li>Retries never outlive the call timeout, which covers all attempts: when the next delay would not end
+ *       before the call's deadline (or a {@code Retry-After} exceeds the longest delay), the last response or
+ *       error goes to the caller instead.</li>
+ * </ul>
+ * Retries are reported to the {@link Metrics} tagged on the request.
+ * <p>
+ * The backoff sleeps on the thread running the call and stops as soon as the call is cancelled. For enqueued
+ * calls that is a dispatcher thread, so a call waiting to retry keeps its {@code maxRequests} slot (not a
+ * connection) for the length of the delay; the deadline bound above caps that at the call timeout.
+ */
+final class RetryInterceptor implements Interceptor {
+    private static final long CANCEL_CHECK_MILLIS = 100;
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    RetryInterceptor(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        boolean idempotent = "GET".equals(request.method()) || "HEAD".equals(request.method())
+                || request.header(CrossmintService.IDEMPOTENCY_KEY_HEADER) != null;
+        // the call timeout started just before the interceptors ran
+        long timeoutNanos = chain.call().timeout().timeoutNanos();
+        long start = System.nanoTime();
+
+        for (int attempt = 1; ; attempt++) {
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                if (!idempotent || attempt >= maxAttempts || chain.call().isCanceled()) {
+                    throw e;
+                }
+                long delay = delay(attempt, null);
+                if (!fits(delay, start, timeoutNanos)) {
+                    throw e;
+                }
+                backoff(chain, delay);
+                continue;
+            }
+
+            int code = response.code();
+            boolean retry = code == 429 || (idempotent && CrossmintApiException.isRetryable(code));
+            if (!retry || attempt >= maxAttempts) {
+                return response;
+            }
+            long delay = delay(attempt, parseRetryAfter(response.header("Retry-After")));
+            if (delay < 0 || !fits(delay, start, timeoutNanos)) {
+                return response;
+            }
+            response.close();
+            backoff(chain, delay);
+        }
+    }
+
+    /**
+     * Milliseconds to wait before the next attempt, or -1 if {@code Retry-After} asks for more than the longest
+     * delay.
+     */
+    private long delay(int attempt, Duration retryAfter) {
+        if (retryAfter != null) {
+            return retryAfter.toMillis() <= maxDelayMillis ? retryAfter.toMillis() : -1;
+        }
+        return ThreadLocalRandom.current().nextLong(Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt, 20)) + 1);
+    }
+
+    /**
+     * True if a retry after {@code delayMillis} still starts before the call timeout (0 means none) expires.
+     */
+    private static boolean fits(long delayMillis, long start, long timeoutNanos) {
+        return timeoutNanos <= 0
+                || TimeUnit.MILLISECONDS.toNanos(delayMillis) < timeoutNanos - (System.nanoTime() - start);
+    }
+
+    private void backoff(Chain chain, long delayMillis) throws IOException {
+        Request request = chain.request();
+        Endpoint endpoint = request.tag(Endpoint.class);
+        Metrics metrics = request.tag(Metrics.class);
+        if (endpoint != null && metrics != null) {
+            metrics.recordRetry(endpoint);
+        }
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        try {
+            for (long left = delayMillis; left > 0; left = TimeUnit.NANOSECONDS.toMillis(until - System.nanoTime())) {
+                // the call timeout cancels the call; so does the caller
+                if (chain.call().isCanceled()) {
+                    throw new IOException("Canceled");
+                }
+                Thread.sleep(Math.min(left, CANCEL_CHECK_MILLIS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backing off");
+        }
+    }
+
+    /**
+     * Parses {@code Retry-After} as delta-seconds or an HTTP date; returns null when absent or malformed.
+     */
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Duration delay = Duration.between(ZonedDateTime.now(),
+                        ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package services;
+
+import org.bouncycastle.asn1.x9.X9ECParameters;
+import org.bouncycastle.crypto.digests.KeccakDigest;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.ec.CustomNamedCurves;
+import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * secp256k1 primitives on raw byte arrays, built directly on BouncyCastle (which web3j uses underneath).
+ * Signing produces the same deterministic (RFC 6979), low-s signatures as web3j's {@code Sign}, but takes the
+ * recovery id from the nonce point instead of trial-recovering the public key, and needs no {@code ECKeyPair}.
+ * {@link #recover} is the inverse, Ethereum's {@code ecrecover}.
+ */
+final class Secp256k1 {
+    private static final X9ECParameters CURVE = CustomNamedCurves.getByName("secp256k1");
+    private static final BigInteger N = CURVE.getN();
+    private static final BigInteger HALF_N = N.shiftRight(1);
+    private static final BigInteger P = CURVE.getCurve().getField().getCharacteristic();
+    private static final byte[] MESSAGE_PREFIX = "\u0019Ethereum Signed Message:\n".getBytes(StandardCharsets.US_ASCII);
+
+    private Secp256k1() {
+    }
+
+    static BigInteger order() {
+        return N;
+    }
+
+    /**
+     * True if the s of {@code r(32) || s(32) || v(1)} at {@code signature[offset]} is at most n/2 (EIP-2).
+     */
+    static boolean hasLowS(byte[] signature, int offset) {
+        return new BigInteger(1, signature, offset + 32, 32).compareTo(HALF_N) <= 0;
+    }
+
+    /**
+     * EIP-191 hash of {@code message}: {@code keccak256("\x19Ethereum Signed Message:\n" + len + message)}.
+     */
+    static byte[] prefixedMessageHash(byte[] message) {
+        KeccakDigest digest = new KeccakDigest(256);
+        digest.update(MESSAGE_PREFIX, 0, MESSAGE_PREFIX.length);
+        byte[] length = Integer.toString(message.length).getBytes(StandardCharsets.US_ASCII);
+        digest.update(length, 0, length.length);
+        digest.update(message, 0, message.length);
+        byte[] hash = new byte[32];
+        digest.doFinal(hash, 0);
+        return hash;
+    }
+
+    /**
+     * Signs a 32-byte hash with {@code privateKey} and writes {@code r(32) || s(32) || v(1)}, v being 27 or 28.
+     */
+    static void sign(byte[] hash, BigInteger privateKey, byte[] out, int offset) {
+        HMacDSAKCalculator nonces = new HMacDSAKCalculator(new SHA256Digest());
+        nonces.init(N, privateKey, hash);
+        BigInteger e = new BigInteger(1, hash);
+        FixedPointCombMultiplier multiplier = new FixedPointCombMultiplier();
+        while (true) {
+            BigInteger k = nonces.nextK();
+            ECPoint point = multiplier.multiply(CURVE.getG(), k).normalize();
+            BigInteger x = point.getAffineXCoord().toBigInteger();
+            BigInteger r = x.mod(N);
+            if (r.signum() == 0) {
+                continue;
+            }
+            BigInteger s = k.modInverse(N).multiply(e.add(privateKey.multiply(r))).mod(N);
+            if (s.signum() == 0) {
+                continue;
+            }
+            int recoveryId = point.getAffineYCoord().toBigInteger().testBit(0) ? 1 : 0;
+            if (x.compareTo(N) >= 0) {
+                recoveryId |= 2;
+            }
+            if (s.compareTo(HALF_N) > 0) {
+                // low-s form (EIP-2); negating s mirrors the nonce point, flipping its y parity
+                s = N.subtract(s);
+                recoveryId ^= 1;
+            }
+            writeUnsigned(r, out, offset);
+            writeUnsigned(s, out, offset + 32);
+            out[offset + 64] = (byte) (27 + recoveryId);
+            return;
+        }
+    }
+
+    /**
+     * Recovers the signer of a 32-byte hash from {@code r(32) || s(32) || v(1)} at {@code signature[offset]} and
+     * writes its address to {@code out[outOffset, outOffset + 20)}. Accepts v of 27 to 30 (recovery ids 0 to 3)
+     * and any s; callers enforce their own v and low-s rules.
+     *
+     * @return false if r or s is out of range or no curve point has x coordinate r
+     */
+    static boolean recover(byte[] hash, byte[] signature, int offset, byte[] out, int outOffset) {
+        int recoveryId = (signature[offset + 64] & 0xFF) - 27;
+        if (recoveryId < 0 || recoveryId > 3) {
+            return false;
+        }
+        BigInteger r = new BigInteger(1, signature, offset, 32);
+        BigInteger s = new BigInteger(1, signature, offset + 32, 32);
+        if (r.signum() == 0 || r.compareTo(N) >= 0 || s.signum() == 0 || s.compareTo(N) >= 0) {
+            return false;
+        }
+        BigInteger x = (recoveryId & 2) == 0 ? r : r.add(N);
+        if (x.compareTo(P) >= 0) {
+            return false;
+        }
+        byte[] compressed = new byte[33];
+        compressed[0] = (byte) ((recoveryId & 1) == 0 ? 0x02 : 0x03);
+        writeUnsigned(x, compressed, 1);
+        ECPoint point;
+        try {
+            point = CURVE.getCurve().decodePoint(compressed);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // Q = r^-1 (sR - eG)
+        BigInteger rInverse = r.modInverse(N);
+        BigInteger e = new BigInteger(1, hash);
+        BigInteger gFactor = N.subtract(e.mod(N)).multiply(rInverse).mod(N);
+        BigInteger rFactor = s.multiply(rInverse).mod(N);
+        ECPoint publicKey = ECAlgorithms.sumOfTwoMultiplies(CURVE.getG(), gFactor, point, rFactor).normalize();
+        if (publicKey.isInfinity()) {
+            return false;
+        }
+        addressOf(publicKey, out, outOffset);
+        return true;
+    }
+
+    /**
+     * Writes the 20-byte Ethereum address of {@code privateKey} to {@code out[offset, offset + 20)}.
+     */
+    static void address(BigInteger privateKey, byte[] out, int offset) {
+        addressOf(new FixedPointCombMultiplier().multiply(CURVE.getG(), privateKey).normalize(), out, offset);
+    }
+
+    /**
+     * Keccak-256 of the uncompressed public key without its 0x04 tag, last 20 bytes.
+     */
+    private static void addressOf(ECPoint point, byte[] out, int offset) {
+        byte[] publicKey = point.getEncoded(false);
+        KeccakDigest digest = new KeccakDigest(256);
+        digest.update(publicKey, 1, 64);
+        byte[] hash = new byte[32];
+        digest.doFinal(hash, 0);
+        System.arraycopy(hash, 12, out, offset, 20);
+    }
+
+    /**
+     * Writes {@code value} as a 32-byte big-endian unsigned integer.
+     */
+    private static void writeUnsigned(BigInteger value, byte[] out, int offset) {
+        byte[] bytes = value.toByteArray();
+        int length = Math.min(bytes.length, 32);
+        int pad = 32 - length;
+        for (int i = 0; i < pad; i++) {
+            out[offset + i] = 0;
+        }
+        System.arraycopy(bytes, bytes.length - length, out, offset + pad, length);
+    }
+}
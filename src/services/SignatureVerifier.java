@@ -0,0 +1,213 @@
+package services;
+
+import utils.Hex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Checks approval signatures locally before they are submitted: recovers the signer of the EIP-191 prefixed
+ * message (as {@code ecrecover} would) and compares it with the address in the signer locator. A bad v byte,
+ * a high s, a missing prefix or the wrong key is caught in microseconds instead of after an approval round trip
+ * and a failed poll.
+ * <p>
+ * Only EVM address signers can be checked; other locators (e.g. {@code email:...}) come back as
+ * {@link Result#UNSUPPORTED_SIGNER} and {@link #check} lets them through.
+ */
+public final class SignatureVerifier {
+    private static final int ADDRESS_LENGTH = 20;
+    private static final int BATCH_THRESHOLD = 16;
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * Outcome of verifying one signature.
+     */
+    public enum Result {
+        VALID,
+        /** not 65 bytes, r or s out of range, or r is not the x coordinate of a curve point */
+        MALFORMED,
+        /** v is not 27 or 28 */
+        BAD_V,
+        /** s is above n/2; Ethereum rejects these as malleable */
+        HIGH_S,
+        /** the signature recovers to another address */
+        WRONG_SIGNER,
+        /** the signer locator holds no EVM address, so there is nothing to recover against */
+        UNSUPPORTED_SIGNER
+    }
+
+    private SignatureVerifier() {
+    }
+
+    /**
+     * Verifies a {@code r(32) || s(32) || v(1)} signature at {@code signature[offset]} over {@code message} against
+     * the 20-byte address at {@code address[addressOffset]}.
+     */
+    public static Result verify(byte[] message, byte[] signature, int offset, byte[] address, int addressOffset) {
+        if (signature.length - offset < MessageSigner.SIGNATURE_LENGTH) {
+            return Result.MALFORMED;
+        }
+        int v = signature[offset + 64] & 0xFF;
+        if (v != 27 && v != 28) {
+            return Result.BAD_V;
+        }
+        if (!Secp256k1.hasLowS(signature, offset)) {
+            return Result.HIGH_S;
+        }
+        byte[] recovered = new byte[ADDRESS_LENGTH];
+        if (!Secp256k1.recover(Secp256k1.prefixedMessageHash(message), signature, offset, recovered, 0)) {
+            return Result.MALFORMED;
+        }
+        return Arrays.equals(recovered, 0, ADDRESS_LENGTH, address, addressOffset, addressOffset + ADDRESS_LENGTH)
+                ? Result.VALID : Result.WRONG_SIGNER;
+    }
+
+    /**
+     * Verifies a hex signature ({@code 0x[r][s][v]}) over a hex message against an EVM signer locator.
+     *
+     * @throws IllegalArgumentException if the locator holds no EVM address
+     */
+    public static Result verify(String messageHex, String signatureHex, String signerLocator) {
+        byte[] address = signerAddress(signerLocator);
+        if (address == null) {
+            throw new IllegalArgumentException("Not an EVM signer: " + signerLocator);
+        }
+        if (Hex.decodedLength(signatureHex) != MessageSigner.SIGNATURE_LENGTH) {
+            return Result.MALFORMED;
+        }
+        return verify(Hex.decode(messageHex), Hex.decode(signatureHex), 0, address, 0);
+    }
+
+    /**
+     * Verifies the signature for a pending approval, throwing instead of returning a result.
+     * Approvals whose signer is not an EVM address are not checked.
+     */
+    public static void check(Transaction.PendingApproval approval, String signatureHex) throws InvalidSignatureException {
+        byte[] address = signerAddress(approval.signerLocator());
+        if (address == null) {
+            return;
+        }
+        Result result;
+        try {
+            result = Hex.decodedLength(signatureHex) != MessageSigner.SIGNATURE_LENGTH
+                    ? Result.MALFORMED
+                    : verify(Hex.decode(approval.message()), Hex.decode(signatureHex), 0, address, 0);
+        } catch (IllegalArgumentException e) {
+            result = Result.MALFORMED;
+        }
+        if (result != Result.VALID) {
+            throw new InvalidSignatureException(result,
+                    "Signature for " + approval.signerLocator() + " failed local verification: " + result);
+        }
+    }
+
+    /**
+     * Verifies every signature in parallel on the common fork-join pool.
+     *
+     * @param signatures 65 bytes per message, back to back, as written by {@link MessageSigner#signBatch}
+     * @param addresses  20 bytes per message, back to back
+     * @return one result per message, in order
+     */
+    public static Result[] verifyBatch(List<byte[]> messages, byte[] signatures, byte[] addresses) {
+        if (signatures.length < messages.size() * MessageSigner.SIGNATURE_LENGTH
+                || addresses.length < messages.size() * ADDRESS_LENGTH) {
+            throw new IllegalArgumentException("Expected " + messages.size() + " signatures and addresses");
+        }
+        Result[] results = new Result[messages.size()];
+        ForkJoinPool.commonPool().invoke(new BatchTask(messages, signatures, addresses, results, 0, messages.size()));
+        return results;
+    }
+
+    /**
+     * Like {@link #verifyBatch(List, byte[], byte[])} for pending approvals and their hex signatures.
+     */
+    public static Result[] verifyBatch(List<Transaction.PendingApproval> approvals, List<String> signatureHexes) {
+        if (approvals.size() != signatureHexes.size()) {
+            throw new IllegalArgumentException("Expected one signature per approval");
+        }
+        int count = approvals.size();
+        List<byte[]> messages = new ArrayList<>(count);
+        byte[] signatures = new byte[count * MessageSigner.SIGNATURE_LENGTH];
+        byte[] addresses = new byte[count * ADDRESS_LENGTH];
+        Result[] early = new Result[count];
+        for (int i = 0; i < count; i++) {
+            Transaction.PendingApproval approval = approvals.get(i);
+            String signatureHex = signatureHexes.get(i);
+            byte[] address = signerAddress(approval.signerLocator());
+            byte[] message = EMPTY;
+            if (address == null) {
+                early[i] = Result.UNSUPPORTED_SIGNER;
+            } else if (Hex.decodedLength(signatureHex) != MessageSigner.SIGNATURE_LENGTH) {
+                early[i] = Result.MALFORMED;
+            } else {
+                try {
+                    message = Hex.decode(approval.message());
+                    Hex.decode(signatureHex, signatures, i * MessageSigner.SIGNATURE_LENGTH);
+                    System.arraycopy(address, 0, addresses, i * ADDRESS_LENGTH, ADDRESS_LENGTH);
+                } catch (IllegalArgumentException e) {
+                    early[i] = Result.MALFORMED;
+                }
+            }
+            // entries settled here keep v = 0 in the buffer, so the parallel pass rejects them at once
+            messages.add(message);
+        }
+        Result[] results = verifyBatch(messages, signatures, addresses);
+        for (int i = 0; i < count; i++) {
+            if (early[i] != null) {
+                results[i] = early[i];
+            }
+        }
+        return results;
+    }
+
+    /**
+     * The 20-byte address in a signer locator such as {@code external-wallet:0x...}, {@code evm-keypair:0x...}
+     * or a bare {@code 0x...}; null if the locator does not end in an address.
+     */
+    public static byte[] signerAddress(String signerLocator) {
+        String address = signerLocator.substring(signerLocator.lastIndexOf(':') + 1);
+        if (!address.startsWith("0x") || Hex.decodedLength(address) != ADDRESS_LENGTH || address.length() != 42) {
+            return null;
+        }
+        try {
+            return Hex.decode(address);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static final class BatchTask extends RecursiveAction {
+        private final List<byte[]> messages;
+        private final byte[] signatures;
+        private final byte[] addresses;
+        private final Result[] results;
+        private final int from;
+        private final int to;
+
+        BatchTask(List<byte[]> messages, byte[] signatures, byte[] addresses, Result[] results, int from, int to) {
+            this.messages = messages;
+            this.signatures = signatures;
+            this.addresses = addresses;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = verify(messages.get(i), signatures, i * MessageSigner.SIGNATURE_LENGTH,
+                            addresses, i * ADDRESS_LENGTH);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchTask(messages, signatures, addresses, results, from, mid),
+                    new BatchTask(messages, signatures, addresses, results, mid, to));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package services;
+
+import java.util.List;
+
+/**
+ * The fields of a Crossmint transaction response the demo uses. Missing fields are empty strings.
+ *
+ * @param id               transaction id
+ * @param status           e.g. {@code awaiting-approval}, {@code pending}, {@code success}, {@code failed}
+ * @param pendingApprovals entries of {@code approvals.pending}
+ * @param txHash           on-chain hash from {@code onChain.txId}, falling back to a top-level {@code txHash}
+ */
+public record Transaction(String id, String status, List<PendingApproval> pendingApprovals, String txHash) {
+
+    /**
+     * An approval the transaction is waiting for: the signer and the message it has to sign.
+     */
+    public record PendingApproval(String signerLocator, String message) {
+    }
+
+    public boolean isTerminal() {
+        return CrossmintService.isTerminalStatus(status);
+    }
+}
@@ -0,0 +1,210 @@
+package services;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache in front of {@link CrossmintService#getTransaction}; every service owns one, see
+ * {@link CrossmintService#transactions()}.
+ * <ul>
+ *   <li>Concurrent reads of the same transaction share one in-flight request (single flight).</li>
+ *   <li>Non-terminal results are served for a short TTL, since statuses only move every few seconds.</li>
+ *   <li>Terminal results never change and are kept until evicted.</li>
+ * </ul>
+ * Entries are keyed by transaction id, which is unique across wallets, so transactions that arrive without their
+ * wallet (webhooks) can be stored too. The entries are split over independently locked stripes, each evicting
+ * least-recently-used once it holds its share of {@code maxEntries}, so a burst of hits on different
+ * transactions does not serialize on one lock.
+ */
+public class TransactionCache {
+    private static final int STRIPES = 32;
+
+    private final CrossmintService service;
+    private final long pendingTtlNanos;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Map<String, CompletableFuture<Transaction>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    private record Entry(Transaction transaction, long expiresAt) {
+    }
+
+    /**
+     * Access-ordered LRU map guarded by its own monitor.
+     */
+    private static final class Stripe extends LinkedHashMap<String, Entry> {
+        private final int maxEntries;
+
+        Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+    public TransactionCache(CrossmintService service) {
+        this(service, Duration.ofSeconds(2), 100_000);
+    }
+
+    /**
+     * @param pendingTtl how long a non-terminal status is served from the cache
+     * @param maxEntries cached transactions kept before LRU eviction (approximately; it is split over the stripes)
+     */
+    public TransactionCache(CrossmintService service, Duration pendingTtl, int maxEntries) {
+        this.service = service;
+        this.pendingTtlNanos = pendingTtl.toNanos();
+        int perStripe = Math.max(1, (maxEntries + STRIPES - 1) / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    /**
+     * Blocking read; see {@link #getTransactionAsync(String, String)}.
+     */
+    public Transaction getTransaction(String walletLocator, String transactionId) throws IOException {
+        try {
+            return getTransactionAsync(walletLocator, transactionId).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading transaction " + transactionId, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the cached transaction if it is still fresh, joins an in-flight request for it if there is one,
+     * and otherwise fetches it. Cancelling the returned future does not affect other readers.
+     */
+    public CompletableFuture<Transaction> getTransactionAsync(String walletLocator, String transactionId) {
+        Transaction cached = fresh(transactionId);
+        if (cached != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<Transaction> flight = new CompletableFuture<>();
+        CompletableFuture<Transaction> existing = inFlight.putIfAbsent(transactionId, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return existing.copy();
+        }
+        // another flight may have completed between the cache check and claiming the key
+        cached = fresh(transactionId);
+        if (cached != null) {
+            inFlight.remove(transactionId, flight);
+            flight.complete(cached);
+            hits.increment();
+            return flight.copy();
+        }
+
+        loads.increment();
+        service.getTransactionAsync(walletLocator, transactionId).whenComplete((tx, e) -> {
+            if (e == null) {
+                put(transactionId, tx);
+            }
+            inFlight.remove(transactionId, flight);
+            if (e == null) {
+                flight.complete(tx);
+            } else {
+                flight.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
+        return flight.copy();
+    }
+
+    /**
+     * The cached transaction if it is still fresh, without loading it.
+     */
+    public Transaction cached(String transactionId) {
+        return fresh(transactionId);
+    }
+
+    /**
+     * Stores a transaction obtained elsewhere (e.g. from an approval response or a webhook).
+     */
+    public void put(Transaction transaction) {
+        put(transaction.id(), transaction);
+    }
+
+    public void invalidate(String transactionId) {
+        Stripe stripe = stripe(transactionId);
+        synchronized (stripe) {
+            stripe.remove(transactionId);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /** Reads answered from the cache. */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /** Reads that joined another reader's in-flight request. */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    /** Reads that went to the network. */
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    private Stripe stripe(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private Transaction fresh(String key) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            Entry entry = stripe.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() - System.nanoTime() > 0) {
+                return entry.transaction();
+            }
+            stripe.remove(key);
+            return null;
+        }
+    }
+
+    private void put(String key, Transaction tx) {
+        // terminal statuses never change, so they only leave the cache through eviction
+        long expiresAt = tx.isTerminal() ? System.nanoTime() + Long.MAX_VALUE / 2 : System.nanoTime() + pendingTtlNanos;
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            Entry current = stripe.get(key);
+            // a read that was in flight when a terminal webhook arrived must not bring back the older status
+            if (current == null || !current.transaction().isTerminal() || tx.isTerminal()) {
+                stripe.put(key, new Entry(tx, expiresAt));
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package services;
+
+import metrics.Endpoint;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Tracks many pending transactions on the shared {@link Poller} scheduler.
+ * Each poll is issued through the service's {@link TransactionCache}, so no thread is parked between attempts and
+ * reads of the same transaction by other callers are shared; the delay starts short right after approval and
+ * backs off geometrically up to a ceiling.
+ * <p>
+ * With a {@link WebhookReceiver}, a terminal transaction webhook completes the watch as soon as it arrives, and
+ * polling only starts for transactions that have not heard back within the fallback delay. Webhook transactions
+ * are also stored in the cache, which covers events that arrive before their transaction is watched.
+ */
+public class TransactionWatcher implements AutoCloseable {
+    private final CrossmintService service;
+    private final TransactionCache transactions;
+    private final Poller poller;
+    /** keyed by transaction id, which is what webhooks carry */
+    private final Map<String, CompletableFuture<Transaction>> watches = new ConcurrentHashMap<>();
+    private final WebhookReceiver webhooks;
+    private final Consumer<WebhookEvent> listener = this::onWebhook;
+
+    public TransactionWatcher(CrossmintService service) {
+        this(service, Duration.ofMillis(500), Duration.ofSeconds(10), 1.5, Duration.ofMinutes(5));
+    }
+
+    /**
+     * @param initialDelay  delay before the first poll
+     * @param maxDelay      ceiling for the backed-off delay between polls
+     * @param backoffFactor multiplier applied to the delay after every non-terminal poll
+     * @param timeout       how long a transaction may stay non-terminal before its future fails
+     */
+    public TransactionWatcher(CrossmintService service, Duration initialDelay, Duration maxDelay,
+                              double backoffFactor, Duration timeout) {
+        this(service, null, initialDelay, maxDelay, backoffFactor, timeout);
+    }
+
+    /**
+     * Completes watches from {@code webhooks}; transactions without a terminal webhook after
+     * {@code fallbackAfter} are polled as usual.
+     */
+    public TransactionWatcher(CrossmintService service, WebhookReceiver webhooks, Duration fallbackAfter) {
+        this(service, webhooks, fallbackAfter, Duration.ofSeconds(10), 1.5, Duration.ofMinutes(5));
+    }
+
+    private TransactionWatcher(CrossmintService service, WebhookReceiver webhooks, Duration initialDelay,
+                               Duration maxDelay, double backoffFactor, Duration timeout) {
+        this.service = service;
+        this.transactions = service.transactions();
+        this.poller = new Poller(initialDelay, maxDelay, backoffFactor, timeout);
+        this.webhooks = webhooks;
+        if (webhooks != null) {
+            webhooks.addListener(listener);
+        }
+    }
+
+    /**
+     * Starts watching a transaction. The future completes with the transaction body once its status is terminal,
+     * or exceptionally on timeout. Watching the same transaction twice returns the same future.
+     */
+    public CompletableFuture<Transaction> watch(String walletLocator, String transactionId) {
+        CompletableFuture<Transaction> watch = watches.computeIfAbsent(transactionId, k -> {
+            CompletableFuture<Transaction> future = poller.poll("transaction " + transactionId, () -> {
+                service.metrics().recordPollAttempt(Endpoint.GET_TRANSACTION);
+                return transactions.getTransactionAsync(walletLocator, transactionId);
+            }, Transaction::isTerminal);
+            future.whenComplete((tx, e) -> watches.remove(k, future));
+            return future;
+        });
+        // a terminal webhook may have arrived before the watch was registered
+        Transaction known = transactions.cached(transactionId);
+        if (known != null && known.isTerminal()) {
+            watch.complete(known);
+        }
+        return watch;
+    }
+
+    /**
+     * Number of transactions that have not reached a terminal state yet.
+     */
+    public int pending() {
+        return watches.size();
+    }
+
+    /**
+     * Runs on the receiver's dispatcher thread; completing a watch runs its dependents there, which for the
+     * callers in this repo is only the map cleanup.
+     */
+    private void onWebhook(WebhookEvent event) {
+        Transaction tx = event.transaction();
+        if (tx == null || !tx.isTerminal()) {
+            return;
+        }
+        // cache first, then look for the watch: watch() registers first, then checks the cache, so one of the two
+        // always sees the other
+        transactions.put(tx);
+        CompletableFuture<Transaction> watch = watches.get(tx.id());
+        if (watch != null) {
+            watch.complete(tx);
+        }
+    }
+
+    /**
+     * Stops all pending watches; the scheduler is shared and keeps running.
+     */
+    @Override
+    public void close() {
+        if (webhooks != null) {
+            webhooks.removeListener(listener);
+        }
+        watches.values().forEach(w -> w.cancel(false));
+        watches.clear();
+    }
+}
@@ -0,0 +1,11 @@
+package services;
+
+/**
+ * The fields of a Crossmint wallet response the demo uses. Missing fields are empty strings.
+ *
+ * @param address     on-chain address of the smart wallet
+ * @param locator     wallet locator ({@code locator}, falling back to {@code id}, then {@code walletId})
+ * @param adminSigner address of the wallet's admin signer ({@code config.adminSigner.address})
+ */
+public record Wallet(String address, String locator, String adminSigner) {
+}
@@ -0,0 +1,304 @@
+package services;
+
+import journal.Journal;
+import journal.JournalState;
+import utils.Config;
+import utils.Logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Bulk wallet provisioning pipeline: keygen -> createWallet -> fundWallet.
+ * Each stage has its own worker count and hands items to the next stage through a bounded queue, so a slow
+ * stage backs up the ones before it instead of buffering the whole batch. A failing item is reported to the
+ * sink and dropped without affecting the rest of the batch; a sink that throws aborts the whole batch.
+ * <p>
+ * With a {@link Journal} every step is recorded durably before the wallet moves on, and a re-run resumes from the
+ * replayed {@link JournalState}: finished wallets are reported straight from the journal and the others restart
+ * at the first step not recorded. Wallet creation is idempotent per signer, so a create that completed but was
+ * not journaled yields the same wallet again; a fund call in that window is repeated.
+ */
+public class WalletProvisioner {
+    private static final Logger logger = new Logger(WalletProvisioner.class);
+    private static final Item POISON = new Item(-1);
+
+    private final CrossmintService crossmintService;
+    private final KeypairGenerator keypairs;
+    private final int keygenWorkers;
+    private final int createWorkers;
+    private final int fundWorkers;
+    private final int queueCapacity;
+    private final String fundAmount;
+    private Journal journal;
+    private JournalState recovered;
+
+    /**
+     * Outcome of provisioning one wallet. {@code failedStage} and {@code error} are null on success.
+     */
+    public record Result(long index, String signerAddress, String privateKeyHex, String walletAddress,
+                         String failedStage, String error) {
+        public boolean isSuccess() {
+            return failedStage == null;
+        }
+    }
+
+    public record Summary(long succeeded, long failed, Duration elapsed) {
+    }
+
+    public WalletProvisioner(CrossmintService crossmintService) {
+        this(crossmintService, KeypairGenerator.shared(), Runtime.getRuntime().availableProcessors(), 64, 64, 256,
+                Config.FUND_AMOUNT);
+    }
+
+    /**
+     * @param keypairs      reserve the keygen stage takes keypairs from
+     * @param keygenWorkers platform threads taking keypairs, generating inline when the reserve runs dry
+     * @param createWorkers concurrent createWallet calls (virtual threads)
+     * @param fundWorkers   concurrent fundWallet calls (virtual threads)
+     * @param queueCapacity capacity of each queue between stages
+     * @param fundAmount    USDXM amount each wallet is funded with
+     */
+    public WalletProvisioner(CrossmintService crossmintService, KeypairGenerator keypairs, int keygenWorkers,
+                             int createWorkers, int fundWorkers, int queueCapacity, String fundAmount) {
+        this.crossmintService = crossmintService;
+        this.keypairs = keypairs;
+        this.keygenWorkers = keygenWorkers;
+        this.createWorkers = createWorkers;
+        this.fundWorkers = fundWorkers;
+        this.queueCapacity = queueCapacity;
+        this.fundAmount = fundAmount;
+    }
+
+    /**
+     * Records progress in {@code journal} and skips the steps already recorded in {@code recovered}, the state
+     * replayed from the same journal.
+     */
+    public WalletProvisioner resumeFrom(Journal journal, JournalState recovered) {
+        this.journal = journal;
+        this.recovered = recovered;
+        return this;
+    }
+
+    /**
+     * Provisions {@code count} wallets, streaming each result to {@code sink} as soon as it is known.
+     * Sink calls are serialized, so the sink does not need to be thread-safe. Blocks until the batch is done.
+     * If the sink throws, the remaining workers are stopped and its exception is rethrown from here.
+     */
+    public Summary run(long count, Consumer<Result> sink) throws InterruptedException {
+        logger.info("Provisioning {} wallets (keygen={}, create={}, fund={})", count, keygenWorkers, createWorkers, fundWorkers);
+        long start = System.nanoTime();
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        Consumer<Result> serialSink = result -> {
+            (result.isSuccess() ? succeeded : failed).incrementAndGet();
+            synchronized (sink) {
+                sink.accept(result);
+            }
+        };
+
+        BlockingQueue<Item> created = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Item> funded = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicLong nextIndex = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+        AtomicReference<RuntimeException> crash = new AtomicReference<>();
+
+        AtomicInteger keygenLive = new AtomicInteger(keygenWorkers);
+        for (int i = 0; i < keygenWorkers; i++) {
+            threads.add(Thread.ofPlatform().daemon().name("provision-keygen-" + i).start(() -> {
+                try {
+                    long index;
+                    while ((index = nextIndex.getAndIncrement()) < count) {
+                        Item item = new Item(index);
+                        JournalState.Flow flow = recovered != null ? recovered.flow(index) : null;
+                        if (flow != null && flow.signerAddress() != null) {
+                            item.signerAddress = flow.signerAddress();
+                            item.privateKeyHex = flow.privateKeyHex();
+                            item.walletAddress = flow.walletAddress();
+                            if (flow.funded()) {
+                                serialSink.accept(item.success());
+                            } else if (item.walletAddress != null) {
+                                funded.put(item);
+                            } else {
+                                created.put(item);
+                            }
+                            continue;
+                        }
+                        try {
+                            KeypairService.Keypair keypair = keypairs.next();
+                            item.signerAddress = keypair.address;
+                            item.privateKeyHex = keypair.privateKeyHex;
+                        } catch (RuntimeException e) {
+                            serialSink.accept(item.failure("keygen", e));
+                            continue;
+                        }
+                        try {
+                            // the key must be durable before a wallet exists that only it can sign for
+                            record(Journal.Entry.keypair(index, item.privateKeyHex, item.signerAddress));
+                        } catch (IOException e) {
+                            serialSink.accept(item.failure("journal", e));
+                            continue;
+                        }
+                        created.put(item);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    abort(crash, e, caller);
+                } finally {
+                    finish(keygenLive, created, createWorkers);
+                }
+            }));
+        }
+
+        AtomicInteger createLive = new AtomicInteger(createWorkers);
+        for (int i = 0; i < createWorkers; i++) {
+            threads.add(Thread.ofVirtual().name("provision-create-" + i).start(() -> {
+                try {
+                    Item item;
+                    while ((item = created.take()) != POISON) {
+                        Result failure = null;
+                        try {
+                            Wallet wallet = crossmintService.createWallet(item.signerAddress);
+                            item.walletAddress = wallet.address();
+                            if (item.walletAddress.isEmpty()) {
+                                throw new IllegalStateException("Wallet response has no address");
+                            }
+                            record(Journal.Entry.walletCreated(item.index, item.walletAddress));
+                        } catch (InterruptedException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            failure = item.failure("create", e);
+                        }
+                        // outside the try, so a failing sink is not mistaken for a failed item
+                        if (failure != null) {
+                            serialSink.accept(failure);
+                        } else {
+                            funded.put(item);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    abort(crash, e, caller);
+                } finally {
+                    finish(createLive, funded, fundWorkers);
+                }
+            }));
+        }
+
+        for (int i = 0; i < fundWorkers; i++) {
+            threads.add(Thread.ofVirtual().name("provision-fund-" + i).start(() -> {
+                try {
+                    Item item;
+                    while ((item = funded.take()) != POISON) {
+                        Result result;
+                        try {
+                            crossmintService.fundWallet(item.walletAddress, fundAmount);
+                            record(Journal.Entry.funded(item.index));
+                            result = item.success();
+                        } catch (InterruptedException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            result = item.failure("fund", e);
+                        }
+                        serialSink.accept(result);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    abort(crash, e, caller);
+                }
+            }));
+        }
+
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            threads.forEach(Thread::interrupt);
+            if (crash.get() != null) {
+                Thread.interrupted();
+                throw crash.get();
+            }
+            throw e;
+        }
+        if (crash.get() != null) {
+            throw crash.get();
+        }
+
+        Summary summary = new Summary(succeeded.get(), failed.get(), Duration.ofNanos(System.nanoTime() - start));
+        logger.info("Provisioning finished: {} succeeded, {} failed in {} ms",
+                summary.succeeded(), summary.failed(), summary.elapsed().toMillis());
+        return summary;
+    }
+
+    /**
+     * Durably records a step when journaling; blocks only until the group commit containing it is synced.
+     */
+    private void record(Journal.Entry entry) throws IOException, InterruptedException {
+        if (journal != null) {
+            journal.write(entry);
+        }
+    }
+
+    /**
+     * A worker died outside its per-item handling, i.e. the sink threw. Wakes the caller, which stops the other
+     * workers; otherwise upstream stages would block forever on a queue nobody drains.
+     */
+    private static void abort(AtomicReference<RuntimeException> crash, RuntimeException e, Thread caller) {
+        if (crash.compareAndSet(null, e)) {
+            caller.interrupt();
+        }
+    }
+
+    /**
+     * Called by every exiting worker; the last one out tells each downstream worker to stop.
+     */
+    private static void finish(AtomicInteger live, BlockingQueue<Item> downstream, int downstreamWorkers) {
+        if (live.decrementAndGet() != 0) {
+            return;
+        }
+        try {
+            for (int i = 0; i < downstreamWorkers; i++) {
+                downstream.put(POISON);
+            }
+        } catch (InterruptedException e) {
+            // the batch is being aborted and downstream workers are interrupted as well
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A wallet moving through the pipeline; each stage fills in its part.
+     */
+    private static final class Item {
+        final long index;
+        String signerAddress;
+        String privateKeyHex;
+        String walletAddress;
+
+        Item(long index) {
+            this.index = index;
+        }
+
+        Result success() {
+            return new Result(index, signerAddress, privateKeyHex, walletAddress, null, null);
+        }
+
+        Result failure(String stage, Exception e) {
+            logger.warn("Wallet {} failed at {}: {}", index, stage, e.getMessage());
+            return new Result(index, signerAddress, privateKeyHex, walletAddress, stage, String.valueOf(e.getMessage()));
+        }
+    }
+}
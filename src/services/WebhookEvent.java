@@ -0,0 +1,11 @@
+package services;
+
+/**
+ * A verified webhook delivery.
+ *
+ * @param id          delivery id ({@code svix-id}); redeliveries of the same event share it
+ * @param type        event type, e.g. {@code wallets.transaction.succeeded}
+ * @param transaction the transaction in {@code data} for transaction events, otherwise null
+ */
+public record WebhookEvent(String id, String type, Transaction transaction) {
+}
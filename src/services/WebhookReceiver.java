@@ -0,0 +1,281 @@
+package services;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import utils.Logger;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Embedded listener for Crossmint webhooks, which are delivered through Svix. Each request is checked against the
+ * {@code svix-signature} HMAC and the {@code svix-timestamp} tolerance, decoded, and queued; the sender gets its
+ * 204 as soon as the event is queued. One dispatcher thread hands queued events to the listeners in arrival
+ * order, so slow listeners delay other events but never the HTTP side. When the queue is full the receiver
+ * answers 503 with {@code Retry-After} and Svix redelivers later.
+ * <p>
+ * Requests run on virtual threads. Deliveries may repeat; listeners must tolerate seeing an event twice.
+ */
+public class WebhookReceiver implements AutoCloseable {
+    public static final String PATH = "/webhooks/crossmint";
+    private static final Logger logger = new Logger(WebhookReceiver.class);
+    private static final String SECRET_PREFIX = "whsec_";
+    private static final int MAX_BODY_BYTES = 1 << 20;
+    private static final Duration TOLERANCE = Duration.ofMinutes(5);
+    private static final int DISPATCH_BATCH = 256;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SecretKeySpec key;
+    private final Mac prototype;
+    private final BlockingQueue<WebhookEvent> queue;
+    private final List<Consumer<WebhookEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final Thread dispatcher;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private volatile boolean closed;
+
+    private WebhookReceiver(String secret, String host, int port, int queueSize) throws IOException {
+        key = key(secret);
+        prototype = mac(key);
+        queue = new ArrayBlockingQueue<>(queueSize);
+        server = HttpServer.create(new InetSocketAddress(host, port), 1024);
+        server.setExecutor(executor);
+        server.createContext(PATH, this::handle);
+        dispatcher = new Thread(this::dispatch, "webhook-dispatcher");
+        dispatcher.setDaemon(true);
+    }
+
+    /**
+     * Starts a receiver on {@code host:port} (port 0 picks a free port).
+     *
+     * @param secret    the endpoint's signing secret, {@code whsec_...}
+     * @param queueSize events that may wait for the dispatcher before deliveries are turned away
+     */
+    public static WebhookReceiver start(String secret, String host, int port, int queueSize) throws IOException {
+        WebhookReceiver receiver = new WebhookReceiver(secret, host, port, queueSize);
+        receiver.dispatcher.start();
+        receiver.server.start();
+        logger.info("Webhook receiver listening on {}", receiver.url());
+        return receiver;
+    }
+
+    /**
+     * URL to register as the webhook endpoint (or to post test events to).
+     */
+    public String url() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort() + PATH;
+    }
+
+    /**
+     * Registers a listener; it runs on the dispatcher thread and should hand off anything slow.
+     */
+    public void addListener(Consumer<WebhookEvent> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<WebhookEvent> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Deliveries verified and queued.
+     */
+    public long accepted() {
+        return accepted.sum();
+    }
+
+    /**
+     * Deliveries refused for a bad signature, a stale timestamp or an unreadable body.
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Valid deliveries turned away with 503 because the queue was full.
+     */
+    public long overflowed() {
+        return overflowed.sum();
+    }
+
+    /**
+     * Computes the {@code svix-signature} header value for a delivery, e.g. to post test events.
+     */
+    public static String sign(String secret, String id, long timestampSeconds, byte[] body) {
+        try {
+            return "v1," + Base64.getEncoder().encodeToString(hmac(mac(key(secret)), id, timestampSeconds, body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        server.stop(0);
+        executor.shutdownNow();
+        dispatcher.interrupt();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readNBytes(MAX_BODY_BYTES + 1);
+            }
+            if (body.length > MAX_BODY_BYTES) {
+                reject(exchange, 413, "body too large");
+                return;
+            }
+            String id = exchange.getRequestHeaders().getFirst("svix-id");
+            String timestamp = exchange.getRequestHeaders().getFirst("svix-timestamp");
+            String signatures = exchange.getRequestHeaders().getFirst("svix-signature");
+            if (id == null || timestamp == null || signatures == null) {
+                reject(exchange, 400, "missing svix headers");
+                return;
+            }
+            long timestampSeconds;
+            try {
+                timestampSeconds = Long.parseLong(timestamp);
+            } catch (NumberFormatException e) {
+                reject(exchange, 400, "bad timestamp");
+                return;
+            }
+            if (Math.abs(System.currentTimeMillis() / 1000 - timestampSeconds) > TOLERANCE.toSeconds()) {
+                reject(exchange, 401, "timestamp outside tolerance");
+                return;
+            }
+            if (!verify(id, timestampSeconds, body, signatures)) {
+                reject(exchange, 401, "bad signature");
+                return;
+            }
+            WebhookEvent event;
+            try {
+                event = ResponseDecoder.readWebhookEvent(id, new ByteArrayInputStream(body));
+            } catch (IOException e) {
+                reject(exchange, 400, "unreadable body");
+                return;
+            }
+            if (!queue.offer(event)) {
+                overflowed.increment();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            accepted.increment();
+            exchange.sendResponseHeaders(204, -1);
+        }
+    }
+
+    private void reject(HttpExchange exchange, int status, String reason) throws IOException {
+        rejected.increment();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Rejected webhook from {}: {}", exchange.getRemoteAddress(), reason);
+        }
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    /**
+     * True if any {@code v1,<base64>} entry of the space-separated header matches the expected HMAC.
+     */
+    private boolean verify(String id, long timestampSeconds, byte[] body, String signatures) throws IOException {
+        byte[] expected = hmac(copyMac(), id, timestampSeconds, body);
+        for (String entry : signatures.split(" ")) {
+            if (!entry.startsWith("v1,")) {
+                continue;
+            }
+            byte[] actual;
+            try {
+                actual = Base64.getDecoder().decode(entry.substring(3));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (MessageDigest.isEqual(expected, actual)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void dispatch() {
+        List<WebhookEvent> batch = new ArrayList<>(DISPATCH_BATCH);
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, DISPATCH_BATCH - 1);
+            for (WebhookEvent event : batch) {
+                for (Consumer<WebhookEvent> listener : listeners) {
+                    try {
+                        listener.accept(event);
+                    } catch (RuntimeException e) {
+                        logger.warn("Webhook listener failed on {} {}: {}", event.type(), event.id(), e.getMessage());
+                    }
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Macs are not thread-safe; each request works on a clone of the keyed prototype.
+     */
+    private Mac copyMac() throws IOException {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return mac(key);
+        }
+    }
+
+    private static byte[] hmac(Mac mac, String id, long timestampSeconds, byte[] body) {
+        mac.update((id + "." + timestampSeconds + ".").getBytes(StandardCharsets.UTF_8));
+        return mac.doFinal(body);
+    }
+
+    private static SecretKeySpec key(String secret) throws IOException {
+        String encoded = secret.startsWith(SECRET_PREFIX) ? secret.substring(SECRET_PREFIX.length()) : secret;
+        try {
+            return new SecretKeySpec(Base64.getDecoder().decode(encoded), "HmacSHA256");
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid webhook secret: " + e.getMessage(), e);
+        }
+    }
+
+    private static Mac mac(SecretKeySpec key) throws IOException {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Invalid webhook secret: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,569 @@
+package standin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import metrics.Endpoint;
+import services.CrossmintService;
+import services.WebhookReceiver;
+import utils.Config;
+import utils.Hex;
+import utils.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for the Crossmint endpoints {@code CrossmintService} calls, for offline benchmarks and
+ * load runs. Responses are shaped like staging responses; each request waits for a latency drawn from the
+ * configured {@link LatencyModel}, may be answered with an injected 429 (with {@code Retry-After}) or 5xx, and
+ * transactions move through awaiting-approval, pending and success (or failed) on a configurable schedule.
+ * Requests run on virtual threads, so injected latency does not limit concurrency. With a webhook URL set, each
+ * approved transaction is also announced there with a signed, Svix-style webhook once it settles.
+ */
+public class CrossmintStandIn implements AutoCloseable {
+    private static final Logger logger = new Logger(CrossmintStandIn.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final Pattern ADDRESS = Pattern.compile("0x[0-9a-fA-F]{40}");
+    private static final String USDXM_CONTRACT = "0x14196F08a4Fa0B66B7331bC40dd6bCd8A1dEeA9F";
+    private static final int USDXM_DECIMALS = 6;
+    private static final int MAX_TRANSACTIONS = 1_000_000;
+    private static final int WEBHOOK_ATTEMPTS = 5;
+
+    /**
+     * @param latency         default latency model for every endpoint
+     * @param endpointLatency per-endpoint overrides of {@code latency}
+     * @param throttleRate    fraction of API requests answered with 429
+     * @param serverErrorRate fraction of API requests answered with 500/502/503
+     * @param retryAfter      {@code Retry-After} sent with injected 429 and 503 responses
+     * @param fundDelay       time until funds from a balances call land in the wallet
+     * @param confirmDelay    time from approval until a transaction leaves {@code pending}
+     * @param failureRate     fraction of approved transactions that end {@code failed}
+     * @param webhookUrl      where to post a signed webhook when a transaction settles; empty for none
+     * @param webhookSecret   signing secret for those webhooks, {@code whsec_...}
+     */
+    public record Settings(LatencyModel latency, Map<Endpoint, LatencyModel> endpointLatency, double throttleRate,
+                           double serverErrorRate, Duration retryAfter, Duration fundDelay, Duration confirmDelay,
+                           double failureRate, String webhookUrl, String webhookSecret) {
+
+        public static Settings fromConfig() {
+            return new Settings(
+                    LatencyModel.logNormal(Duration.ofMillis(Config.STANDIN_LATENCY_MEDIAN_MS),
+                            Duration.ofMillis(Config.STANDIN_LATENCY_P99_MS)),
+                    Map.of(),
+                    Config.STANDIN_THROTTLE_RATE,
+                    Config.STANDIN_SERVER_ERROR_RATE,
+                    Duration.ofSeconds(1),
+                    Duration.ofMillis(Config.STANDIN_FUND_MS),
+                    Duration.ofMillis(Config.STANDIN_CONFIRM_MS),
+                    Config.STANDIN_FAILURE_RATE,
+                    Config.STANDIN_WEBHOOK_URL,
+                    Config.WEBHOOK_SECRET);
+        }
+
+        /**
+         * No latency, no injected errors and immediate state changes; measures client-side cost only.
+         */
+        public static Settings instant() {
+            return new Settings(LatencyModel.NONE, Map.of(), 0, 0, Duration.ofSeconds(1), Duration.ZERO,
+                    Duration.ZERO, 0, "", "");
+        }
+
+        public Settings withLatency(Endpoint endpoint, LatencyModel model) {
+            Map<Endpoint, LatencyModel> latencies = new EnumMap<>(Endpoint.class);
+            latencies.putAll(endpointLatency);
+            latencies.put(endpoint, model);
+            return new Settings(latency, Map.copyOf(latencies), throttleRate, serverErrorRate, retryAfter,
+                    fundDelay, confirmDelay, failureRate, webhookUrl, webhookSecret);
+        }
+
+        public Settings withWebhooks(String url, String secret) {
+            return new Settings(latency, endpointLatency, throttleRate, serverErrorRate, retryAfter, fundDelay,
+                    confirmDelay, failureRate, url, secret);
+        }
+
+        LatencyModel latency(Endpoint endpoint) {
+            return endpointLatency.getOrDefault(endpoint, latency);
+        }
+    }
+
+    private static final class WalletState {
+        final String address;
+        final String signerAddress;
+        final Instant createdAt = Instant.now();
+        volatile long fundedAtNanos;
+        volatile BigInteger pendingCredit = BigInteger.ZERO;
+        volatile BigInteger balance = BigInteger.ZERO;
+
+        WalletState(String address, String signerAddress) {
+            this.address = address;
+            this.signerAddress = signerAddress;
+        }
+    }
+
+    private static final class TransactionState {
+        final String id = UUID.randomUUID().toString();
+        final WalletState wallet;
+        final String recipient;
+        final BigInteger amount;
+        final String message = randomHex(32);
+        final Instant createdAt = Instant.now();
+        volatile String signature;
+        volatile Instant approvedAt;
+        volatile long approvedAtNanos;
+        volatile boolean fails;
+        volatile String txHash;
+
+        TransactionState(WalletState wallet, String recipient, BigInteger amount) {
+            this.wallet = wallet;
+            this.recipient = recipient;
+            this.amount = amount;
+        }
+    }
+
+    private record Route(Endpoint endpoint, String walletLocator, String transactionId) {
+    }
+
+    private final Settings settings;
+    private final String network;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, WalletState> wallets = new ConcurrentHashMap<>();
+    private final Map<String, TransactionState> transactions = new ConcurrentHashMap<>();
+    private final Map<String, TransactionState> byIdempotencyKey = new ConcurrentHashMap<>();
+    private final Map<String, WalletState> walletsByIdempotencyKey = new ConcurrentHashMap<>();
+    private final HttpClient webhookClient;
+
+    private CrossmintStandIn(Settings settings, String network, int port) throws IOException {
+        this.settings = settings;
+        this.network = network;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        webhookClient = settings.webhookUrl().isEmpty() ? null : HttpClient.newBuilder().executor(executor).build();
+    }
+
+    /**
+     * Starts a stand-in on {@code port} (0 picks a free port).
+     */
+    public static CrossmintStandIn start(Settings settings, int port) throws IOException {
+        CrossmintStandIn standIn = new CrossmintStandIn(settings, Config.NETWORK, port);
+        standIn.server.start();
+        logger.info("Crossmint stand-in listening on {}", standIn.baseUrl());
+        return standIn;
+    }
+
+    /**
+     * Base URL to hand to {@code CrossmintService} in place of {@code CROSSMINT_BASE_URL}.
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        if (webhookClient != null) {
+            webhookClient.shutdownNow();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(204, -1);
+                return;
+            }
+            Route route = route(exchange.getRequestMethod(), exchange.getRequestURI().getRawPath());
+            if (route == null) {
+                respond(exchange, 404, error("Not found"));
+                return;
+            }
+            settings.latency(route.endpoint()).pause();
+            if (exchange.getRequestHeaders().getFirst("X-API-KEY") == null) {
+                respond(exchange, 401, error("Missing X-API-KEY header"));
+                return;
+            }
+            if (injectError(exchange)) {
+                return;
+            }
+            switch (route.endpoint()) {
+                case CREATE_WALLET -> createWallet(exchange, body);
+                case GET_WALLET -> getWallet(exchange, route.walletLocator());
+                case FUND_WALLET -> fundWallet(exchange, route.walletLocator(), body);
+                case CREATE_TRANSACTION -> createTransaction(exchange, route.walletLocator(), body);
+                case APPROVE_TRANSACTION -> approveTransaction(exchange, route, body);
+                case GET_TRANSACTION -> getTransaction(exchange, route);
+                case GET_BALANCE -> getBalance(exchange, route.walletLocator());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Stand-in request failed: {}", e.getMessage());
+            respond(exchange, 500, error("Internal error"));
+        }
+    }
+
+    /**
+     * Maps a request onto the endpoint it stands in for, or null if it is not one the client calls.
+     */
+    private static Route route(String method, String path) {
+        String[] parts = path.split("/");
+        // parts[0] is empty; every API path starts with /api/{version}/wallets
+        if (parts.length < 4 || !"api".equals(parts[1]) || !"wallets".equals(parts[3])) {
+            return null;
+        }
+        boolean post = "POST".equals(method);
+        if ("v1-alpha2".equals(parts[2])) {
+            return post && parts.length == 6 && "balances".equals(parts[5])
+                    ? new Route(Endpoint.FUND_WALLET, parts[4], null) : null;
+        }
+        if (!"2025-06-09".equals(parts[2])) {
+            return null;
+        }
+        if (parts.length == 4) {
+            return post ? new Route(Endpoint.CREATE_WALLET, null, null) : null;
+        }
+        if (!post && parts.length == 5) {
+            return new Route(Endpoint.GET_WALLET, parts[4], null);
+        }
+        if (!post && parts.length == 6 && "balances".equals(parts[5])) {
+            return new Route(Endpoint.GET_BALANCE, parts[4], null);
+        }
+        if (post && parts.length == 8 && "tokens".equals(parts[5]) && "transfers".equals(parts[7])) {
+            return new Route(Endpoint.CREATE_TRANSACTION, parts[4], null);
+        }
+        if (parts.length >= 7 && "transactions".equals(parts[5])) {
+            if (!post && parts.length == 7) {
+                return new Route(Endpoint.GET_TRANSACTION, parts[4], parts[6]);
+            }
+            if (post && parts.length == 8 && "approvals".equals(parts[7])) {
+                return new Route(Endpoint.APPROVE_TRANSACTION, parts[4], parts[6]);
+            }
+        }
+        return null;
+    }
+
+    private boolean injectError(HttpExchange exchange) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double roll = random.nextDouble();
+        String retryAfter = Long.toString(Math.max(1, settings.retryAfter().toSeconds()));
+        if (roll < settings.throttleRate()) {
+            exchange.getResponseHeaders().set("Retry-After", retryAfter);
+            respond(exchange, 429, error("Too many requests"));
+            return true;
+        }
+        if (roll < settings.throttleRate() + settings.serverErrorRate()) {
+            int status = new int[]{500, 502, 503}[random.nextInt(3)];
+            if (status == 503) {
+                exchange.getResponseHeaders().set("Retry-After", retryAfter);
+            }
+            respond(exchange, status, error("Injected server error"));
+            return true;
+        }
+        return false;
+    }
+
+    private void createWallet(HttpExchange exchange, byte[] body) throws IOException {
+        String signer = mapper.readTree(body).path("config").path("adminSigner").path("address").asText();
+        if (!ADDRESS.matcher(signer).matches()) {
+            respond(exchange, 400, error("Invalid adminSigner address"));
+            return;
+        }
+        WalletState wallet = new WalletState(randomHex(20), signer);
+        String idempotencyKey = exchange.getRequestHeaders().getFirst(CrossmintService.IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey != null) {
+            WalletState existing = walletsByIdempotencyKey.putIfAbsent(idempotencyKey, wallet);
+            if (existing != null) {
+                respond(exchange, 201, walletJson(existing));
+                return;
+            }
+        }
+        wallets.put(wallet.address, wallet);
+        respond(exchange, 201, walletJson(wallet));
+    }
+
+    private void getWallet(HttpExchange exchange, String walletLocator) throws IOException {
+        WalletState wallet = wallets.get(walletLocator);
+        if (wallet == null) {
+            respond(exchange, 404, error("Wallet " + walletLocator + " not found"));
+            return;
+        }
+        respond(exchange, 200, walletJson(wallet));
+    }
+
+    private void fundWallet(HttpExchange exchange, String walletLocator, byte[] body) throws IOException {
+        WalletState wallet = wallets.get(walletLocator);
+        if (wallet == null) {
+            respond(exchange, 404, error("Wallet " + walletLocator + " not found"));
+            return;
+        }
+        JsonNode request = mapper.readTree(body);
+        BigInteger amount = units(request.path("amount").asText());
+        if (amount == null) {
+            respond(exchange, 400, error("Invalid amount"));
+            return;
+        }
+        synchronized (wallet) {
+            settle(wallet);
+            wallet.pendingCredit = wallet.pendingCredit.add(amount);
+            wallet.fundedAtNanos = System.nanoTime();
+        }
+        respond(exchange, 200, """
+                {"token":"usdxm","decimals":%d,"chain":"%s","amount":"%s","txHash":"%s"}"""
+                .formatted(USDXM_DECIMALS, network, request.path("amount").asText(), randomHex(32)));
+    }
+
+    private void getBalance(HttpExchange exchange, String walletLocator) throws IOException {
+        WalletState wallet = wallets.get(walletLocator);
+        if (wallet == null) {
+            respond(exchange, 404, error("Wallet " + walletLocator + " not found"));
+            return;
+        }
+        BigInteger balance;
+        synchronized (wallet) {
+            settle(wallet);
+            balance = wallet.balance;
+        }
+        String amount = new BigDecimal(balance, USDXM_DECIMALS).stripTrailingZeros().toPlainString();
+        respond(exchange, 200, """
+                [{"symbol":"eth","decimals":18,"amount":"0","rawAmount":"0",\
+                "chains":{"%s":{"amount":"0","rawAmount":"0"}}},\
+                {"symbol":"usdxm","decimals":%d,"amount":"%s","rawAmount":"%s",\
+                "chains":{"%s":{"amount":"%s","rawAmount":"%s","contractAddress":"%s"}}}]"""
+                .formatted(network, USDXM_DECIMALS, amount, balance, network, amount, balance, USDXM_CONTRACT));
+    }
+
+    private void createTransaction(HttpExchange exchange, String walletLocator, byte[] body) throws IOException {
+        WalletState wallet = wallets.get(walletLocator);
+        if (wallet == null) {
+            respond(exchange, 404, error("Wallet " + walletLocator + " not found"));
+            return;
+        }
+        JsonNode request = mapper.readTree(body);
+        String recipient = request.path("recipient").asText();
+        BigInteger amount = units(request.path("amount").asText());
+        if (!ADDRESS.matcher(recipient).matches() || amount == null) {
+            respond(exchange, 400, error("Invalid recipient or amount"));
+            return;
+        }
+        String idempotencyKey = exchange.getRequestHeaders().getFirst(CrossmintService.IDEMPOTENCY_KEY_HEADER);
+        TransactionState tx = new TransactionState(wallet, recipient, amount);
+        if (idempotencyKey != null) {
+            TransactionState existing = byIdempotencyKey.putIfAbsent(idempotencyKey, tx);
+            if (existing != null) {
+                respond(exchange, 201, transactionJson(existing));
+                return;
+            }
+        }
+        if (transactions.size() >= MAX_TRANSACTIONS) {
+            // Bounds memory on long benchmark runs; flows still in progress will see 404s
+            logger.warn("Stand-in holds {} transactions, dropping them", transactions.size());
+            transactions.clear();
+            byIdempotencyKey.clear();
+        }
+        transactions.put(tx.id, tx);
+        respond(exchange, 201, transactionJson(tx));
+    }
+
+    private void approveTransaction(HttpExchange exchange, Route route, byte[] body) throws IOException {
+        TransactionState tx = transaction(route);
+        if (tx == null) {
+            respond(exchange, 404, error("Transaction " + route.transactionId() + " not found"));
+            return;
+        }
+        JsonNode approval = mapper.readTree(body).path("approvals").path(0);
+        String signer = approval.path("signer").asText();
+        String signature = approval.path("signature").asText();
+        if (!signer.equals("external-wallet:" + tx.wallet.signerAddress)
+                || signature.length() != 132 || !signature.startsWith("0x")) {
+            respond(exchange, 400, error("Invalid approval"));
+            return;
+        }
+        boolean first = false;
+        synchronized (tx) {
+            // Approvals are idempotent: a retried approval returns the current state
+            if (tx.approvedAt == null) {
+                tx.signature = signature;
+                tx.fails = ThreadLocalRandom.current().nextDouble() < settings.failureRate();
+                tx.approvedAtNanos = System.nanoTime();
+                tx.approvedAt = Instant.now();
+                first = true;
+            }
+        }
+        if (first && webhookClient != null) {
+            executor.submit(() -> sendSettledWebhook(tx));
+        }
+        respond(exchange, 201, transactionJson(tx));
+    }
+
+    /**
+     * Waits until the transaction settles and posts a {@code wallets.transaction.succeeded} (or {@code failed})
+     * webhook for it, retrying a few times on errors the way Svix would.
+     */
+    private void sendSettledWebhook(TransactionState tx) {
+        try {
+            Thread.sleep(settings.confirmDelay());
+            String type = "success".equals(status(tx)) ? "wallets.transaction.succeeded" : "wallets.transaction.failed";
+            byte[] body = ("{\"type\":\"" + type + "\",\"data\":" + transactionJson(tx) + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+            String id = "msg_" + UUID.randomUUID();
+            for (int attempt = 1; attempt <= WEBHOOK_ATTEMPTS; attempt++) {
+                long timestamp = System.currentTimeMillis() / 1000;
+                HttpRequest request = HttpRequest.newBuilder(URI.create(settings.webhookUrl()))
+                        .header("Content-Type", "application/json")
+                        .header("svix-id", id)
+                        .header("svix-timestamp", Long.toString(timestamp))
+                        .header("svix-signature", WebhookReceiver.sign(settings.webhookSecret(), id, timestamp, body))
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build();
+                try {
+                    HttpResponse<Void> response = webhookClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() / 100 == 2) {
+                        return;
+                    }
+                } catch (IOException e) {
+                    logger.debug("Webhook delivery for {} failed: {}", tx.id, e.getMessage());
+                }
+                Thread.sleep(Duration.ofSeconds(attempt));
+            }
+            logger.warn("Gave up delivering webhook for transaction {}", tx.id);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void getTransaction(HttpExchange exchange, Route route) throws IOException {
+        TransactionState tx = transaction(route);
+        if (tx == null) {
+            respond(exchange, 404, error("Transaction " + route.transactionId() + " not found"));
+            return;
+        }
+        respond(exchange, 200, transactionJson(tx));
+    }
+
+    private TransactionState transaction(Route route) {
+        TransactionState tx = transactions.get(route.transactionId());
+        return tx != null && tx.wallet.address.equals(route.walletLocator()) ? tx : null;
+    }
+
+    /**
+     * Moves funds whose delay has passed from pending into the balance; callers hold the wallet's lock.
+     */
+    private void settle(WalletState wallet) {
+        if (wallet.pendingCredit.signum() > 0
+                && System.nanoTime() - wallet.fundedAtNanos >= settings.fundDelay().toNanos()) {
+            wallet.balance = wallet.balance.add(wallet.pendingCredit);
+            wallet.pendingCredit = BigInteger.ZERO;
+        }
+    }
+
+    private String status(TransactionState tx) {
+        if (tx.approvedAt == null) {
+            return "awaiting-approval";
+        }
+        if (System.nanoTime() - tx.approvedAtNanos < settings.confirmDelay().toNanos()) {
+            return "pending";
+        }
+        synchronized (tx) {
+            if (tx.txHash == null && !tx.fails) {
+                tx.txHash = randomHex(32);
+            }
+        }
+        return tx.fails ? "failed" : "success";
+    }
+
+    private String walletJson(WalletState wallet) {
+        return """
+                {"chainType":"evm","type":"smart","address":"%s","owner":null,\
+                "config":{"adminSigner":{"type":"external-wallet","address":"%s","locator":"external-wallet:%s"}},\
+                "createdAt":"%s"}"""
+                .formatted(wallet.address, wallet.signerAddress, wallet.signerAddress, wallet.createdAt);
+    }
+
+    private String transactionJson(TransactionState tx) {
+        String status = status(tx);
+        String signerLocator = "external-wallet:" + tx.wallet.signerAddress;
+        String pending = tx.approvedAt == null ? """
+                {"signer":{"type":"external-wallet","address":"%s","locator":"%s"},"message":"%s"}"""
+                .formatted(tx.wallet.signerAddress, signerLocator, tx.message) : "";
+        String submitted = tx.approvedAt == null ? "" : """
+                {"signer":{"type":"external-wallet","address":"%s","locator":"%s"},"message":"%s",\
+                "signature":"%s","submittedAt":"%s"}"""
+                .formatted(tx.wallet.signerAddress, signerLocator, tx.message, tx.signature, tx.approvedAt);
+        String onChainTx = "success".equals(status) ? ",\"txId\":\"" + tx.txHash + "\"" : "";
+        String error = "failed".equals(status) ? "{\"reason\":\"execution_reverted\",\"message\":\"Execution reverted\"}" : "null";
+        return """
+                {"id":"%s","walletType":"smart","chainType":"evm","status":"%s","createdAt":"%s","error":%s,\
+                "approvals":{"pending":[%s],"submitted":[%s],"required":1},\
+                "params":{"chain":"%s","signer":"%s","calls":[{"to":"%s","value":"0","data":"%s"}]},\
+                "onChain":{"userOperationHash":"%s"%s}}"""
+                .formatted(tx.id, status, tx.createdAt, error, pending, submitted, network, signerLocator,
+                        USDXM_CONTRACT, transferCallData(tx), tx.message, onChainTx);
+    }
+
+    /**
+     * ERC-20 {@code transfer(address,uint256)} call data for the transaction.
+     */
+    private static String transferCallData(TransactionState tx) {
+        String amount = tx.amount.toString(16);
+        return "0xa9059cbb" + "0".repeat(24) + tx.recipient.substring(2).toLowerCase()
+                + "0".repeat(64 - amount.length()) + amount;
+    }
+
+    /**
+     * Converts a decimal token amount into base units, or null if it is not a valid non-negative amount.
+     */
+    private static BigInteger units(String amount) {
+        try {
+            BigInteger units = new BigDecimal(amount).movePointRight(USDXM_DECIMALS).toBigIntegerExact();
+            return units.signum() >= 0 && units.bitLength() <= 256 ? units : null;
+        } catch (NumberFormatException | ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private static String randomHex(int bytes) {
+        byte[] random = new byte[bytes];
+        ThreadLocalRandom.current().nextBytes(random);
+        return Hex.toPrefixedHex(random);
+    }
+
+    private static String error(String message) {
+        return "{\"error\":true,\"message\":\"" + message.replace("\"", "'") + "\"}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package standin;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Log-normal service-time distribution, described by its median and 99th percentile.
+ * Log-normal matches the long right tail of real API latencies far better than a uniform or fixed delay,
+ * so tail-sensitive code (timeouts, hedging, limiters) sees realistic behaviour.
+ */
+public record LatencyModel(long medianNanos, double sigma) {
+    /** z-score of the 99th percentile of a standard normal distribution. */
+    private static final double Z_99 = 2.3263;
+
+    public static final LatencyModel NONE = new LatencyModel(0, 0);
+
+    public static LatencyModel fixed(Duration latency) {
+        return new LatencyModel(latency.toNanos(), 0);
+    }
+
+    /**
+     * @param median 50th percentile latency
+     * @param p99    99th percentile latency; must not be below the median
+     */
+    public static LatencyModel logNormal(Duration median, Duration p99) {
+        if (p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("p99 " + p99 + " is below median " + median);
+        }
+        double sigma = median.isZero() ? 0 : Math.log((double) p99.toNanos() / median.toNanos()) / Z_99;
+        return new LatencyModel(median.toNanos(), sigma);
+    }
+
+    /**
+     * Draws one latency in nanoseconds.
+     */
+    public long sampleNanos() {
+        if (medianNanos == 0 || sigma == 0) {
+            return medianNanos;
+        }
+        return (long) (medianNanos * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    /**
+     * Sleeps for one sampled latency; intended for virtual threads, where sleeping is cheap.
+     */
+    public void pause() throws InterruptedException {
+        long nanos = sampleNanos();
+        if (nanos > 0) {
+            Thread.sleep(Duration.ofNanos(nanos));
+        }
+    }
+}
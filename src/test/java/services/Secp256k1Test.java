@@ -0,0 +1,150 @@
+package services;
+
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.ec.CustomNamedCurves;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
+import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
+import org.junit.jupiter.api.Test;
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Keys;
+import org.web3j.crypto.Sign;
+import utils.Hex;
+
+import java.math.BigInteger;
+import java.security.SignatureException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Known-answer checks of the hand-rolled signer and {@code ecrecover} against web3j's {@code Sign}, over fixed
+ * keys and messages chosen to cover both recovery ids and nonces whose raw s is above n/2 (the low-s flip).
+ */
+class Secp256k1Test {
+    private static final int KEYS = 64;
+    private static final byte[] MESSAGE =
+            Hex.decode("0x5c9f3a1e7b2d4c6f8a0e1b3d5f7a9c2e4b6d8f0a1c3e5b7d9f2a4c6e8b0d1f3a");
+    private static final BigInteger N = Secp256k1.order();
+
+    private static BigInteger privateKey(int i) {
+        return BigInteger.valueOf(i).shiftLeft(192).add(BigInteger.valueOf(0x5eedL * i));
+    }
+
+    private static byte[] message(int i) {
+        byte[] message = Arrays.copyOf(MESSAGE, MESSAGE.length + 1);
+        message[MESSAGE.length] = (byte) i;
+        return message;
+    }
+
+    private static byte[] web3jSignature(byte[] message, BigInteger privateKey) {
+        Sign.SignatureData data = Sign.signPrefixedMessage(message, ECKeyPair.create(privateKey));
+        byte[] signature = new byte[MessageSigner.SIGNATURE_LENGTH];
+        System.arraycopy(data.getR(), 0, signature, 0, 32);
+        System.arraycopy(data.getS(), 0, signature, 32, 32);
+        signature[64] = data.getV()[0];
+        return signature;
+    }
+
+    private static byte[] web3jAddress(BigInteger privateKey) {
+        return Hex.decode(Keys.getAddress(ECKeyPair.create(privateKey).getPublicKey()));
+    }
+
+    /** s as RFC 6979 ECDSA produces it, before either implementation normalizes it to low-s */
+    private static BigInteger rawS(byte[] hash, BigInteger privateKey) {
+        ECDSASigner signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
+        signer.init(true, new ECPrivateKeyParameters(privateKey,
+                new ECDomainParameters(CustomNamedCurves.getByName("secp256k1"))));
+        return signer.generateSignature(hash)[1];
+    }
+
+    @Test
+    void privateKeyOneHasTheWellKnownAddress() {
+        byte[] address = new byte[20];
+        Secp256k1.address(BigInteger.ONE, address, 0);
+        assertEquals("0x7e5f4552091a69125d5dfcb7b8c2659029395bdf", Hex.toPrefixedHex(address));
+    }
+
+    @Test
+    void prefixedHashMatchesWeb3j() {
+        for (int i = 0; i < 3; i++) {
+            byte[] message = Arrays.copyOf(MESSAGE, i * 17);
+            assertArrayEquals(Sign.getEthereumMessageHash(message), Secp256k1.prefixedMessageHash(message));
+        }
+    }
+
+    @Test
+    void vaultSignaturesMatchWeb3jAndCoverBothRecoveryIdsAndTheLowSFlip() {
+        boolean[] recoveryIds = new boolean[2];
+        boolean[] flipped = new boolean[2];
+        try (KeyVault vault = new KeyVault(KEYS)) {
+            for (int i = 1; i <= KEYS; i++) {
+                BigInteger key = privateKey(i);
+                byte[] address = new byte[20];
+                Secp256k1.address(key, address, 0);
+                assertArrayEquals(web3jAddress(key), address, "address of key " + i);
+
+                String signer = Hex.toPrefixedHex(address);
+                vault.add(String.format("%064x", key), signer);
+                byte[] message = message(i);
+                byte[] ours = new byte[MessageSigner.SIGNATURE_LENGTH];
+                vault.sign(signer, message, ours, 0);
+                assertArrayEquals(web3jSignature(message, key), ours, "signature of key " + i);
+
+                recoveryIds[ours[64] - 27] = true;
+                BigInteger s = rawS(Secp256k1.prefixedMessageHash(message), key);
+                flipped[s.compareTo(N.shiftRight(1)) > 0 ? 1 : 0] = true;
+            }
+        }
+        assertTrue(recoveryIds[0] && recoveryIds[1], "inputs cover v = 27 and v = 28");
+        assertTrue(flipped[0] && flipped[1], "inputs cover raw s on both sides of n/2");
+    }
+
+    @Test
+    void recoveryAgreesWithWeb3jInBothDirections() throws SignatureException {
+        for (int i = 1; i <= KEYS; i++) {
+            BigInteger key = privateKey(i);
+            byte[] message = message(i);
+            byte[] hash = Secp256k1.prefixedMessageHash(message);
+            byte[] expected = web3jAddress(key);
+
+            byte[] theirs = web3jSignature(message, key);
+            byte[] recovered = new byte[20];
+            assertTrue(Secp256k1.recover(hash, theirs, 0, recovered, 0), "recover web3j signature of key " + i);
+            assertArrayEquals(expected, recovered);
+            assertEquals(SignatureVerifier.Result.VALID, SignatureVerifier.verify(message, theirs, 0, expected, 0));
+
+            byte[] ours = new byte[MessageSigner.SIGNATURE_LENGTH];
+            Secp256k1.sign(hash, key, ours, 0);
+            BigInteger publicKey = Sign.signedPrefixedMessageToKey(message, new Sign.SignatureData(ours[64],
+                    Arrays.copyOfRange(ours, 0, 32), Arrays.copyOfRange(ours, 32, 64)));
+            assertArrayEquals(expected, Hex.decode(Keys.getAddress(publicKey)), "web3j recovers key " + i);
+        }
+    }
+
+    @Test
+    void highSTwinRecoversTheSameSignerButIsRejected() {
+        BigInteger key = privateKey(7);
+        byte[] message = message(7);
+        byte[] hash = Secp256k1.prefixedMessageHash(message);
+        byte[] signature = new byte[MessageSigner.SIGNATURE_LENGTH];
+        Secp256k1.sign(hash, key, signature, 0);
+
+        // (r, n - s) with the other recovery id is the same signature mirrored; ecrecover accepts it, EIP-2 does not
+        byte[] twin = signature.clone();
+        // n - s is above n/2 > 2^255, so its two's complement bytes are a sign byte and exactly 32 more
+        byte[] highS = N.subtract(new BigInteger(1, signature, 32, 32)).toByteArray();
+        System.arraycopy(highS, highS.length - 32, twin, 32, 32);
+        twin[64] = (byte) (signature[64] == 27 ? 28 : 27);
+
+        byte[] expected = new byte[20];
+        Secp256k1.address(key, expected, 0);
+        byte[] recovered = new byte[20];
+        assertTrue(Secp256k1.recover(hash, twin, 0, recovered, 0));
+        assertArrayEquals(expected, recovered);
+        assertEquals(SignatureVerifier.Result.HIGH_S, SignatureVerifier.verify(message, twin, 0, expected, 0));
+    }
+}
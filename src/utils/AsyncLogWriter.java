@@ -0,0 +1,173 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded, lock-free multi-producer ring buffer of log events, drained by one background thread.
+ * Slots are preallocated and reused, so logging a statement with up to two arguments does not allocate.
+ * Each slot carries a sequence number (Vyukov's bounded queue): producers claim a position with one CAS and
+ * publish the slot by advancing its sequence; the writer frees it the same way.
+ * When the buffer is full, DEBUG and INFO events are dropped (and counted) unless {@code block} is set; WARN
+ * and ERROR events always wait for space.
+ * <p>
+ * An idle writer parks until a producer publishes into the empty ring and unparks it, so a quiet process does
+ * not wake the writer at all.
+ */
+final class AsyncLogWriter {
+
+    private static final class Slot {
+        org.slf4j.Logger target;
+        Logger.Level level;
+        String pattern;
+        int argc;
+        Object arg1;
+        Object arg2;
+        Object[] args;
+    }
+
+    private final Slot[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final boolean block;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    /** set by the writer before it parks; producers that see it unpark the writer */
+    private volatile boolean sleeping;
+    private long dequeuePosition;
+    private long droppedReported;
+
+    /**
+     * @param capacity slots in the ring, rounded up to a power of two
+     * @param block    when true, a full buffer makes every caller wait instead of dropping DEBUG/INFO events
+     */
+    AsyncLogWriter(int capacity, boolean block) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        slots = new Slot[size];
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+        this.block = block;
+        writer = Thread.ofPlatform().daemon().name("async-log-writer").start(this::drainLoop);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "async-log-flush"));
+    }
+
+    void offer(org.slf4j.Logger target, Logger.Level level, String pattern, int argc, Object arg1, Object arg2, Object[] args) {
+        boolean mayDrop = !block && level.compareTo(Logger.Level.WARN) > 0;
+        long position;
+        int spins = 0;
+        while (true) {
+            position = enqueuePosition.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (diff < 0) {
+                // full: the slot still holds an event from one lap ago
+                if (mayDrop) {
+                    dropped.increment();
+                    return;
+                }
+                backoff(++spins);
+            }
+        }
+        int index = (int) (position & mask);
+        Slot slot = slots[index];
+        slot.target = target;
+        slot.level = level;
+        slot.pattern = pattern;
+        slot.argc = argc;
+        slot.arg1 = arg1;
+        slot.arg2 = arg2;
+        slot.args = args;
+        sequences.set(index, position + 1);
+        // the volatile publish above and this read pair with the writer's sleeping write and re-check in
+        // drainLoop: either the writer sees this event, or this sees it sleeping
+        if (sleeping) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Waits until every event enqueued before the call has been written, or the writer has stopped.
+     */
+    void flush() {
+        long target = enqueuePosition.get();
+        int spins = 0;
+        while (written.get() < target && writer.isAlive()) {
+            backoff(++spins);
+        }
+    }
+
+    long droppedCount() {
+        return dropped.sum();
+    }
+
+    private void drainLoop() {
+        while (true) {
+            if (drain()) {
+                continue;
+            }
+            reportDropped();
+            sleeping = true;
+            if (!drain()) {
+                LockSupport.park(this);
+            }
+            sleeping = false;
+        }
+    }
+
+    /**
+     * Writes every published event; returns false if there was nothing to write.
+     */
+    private boolean drain() {
+        boolean any = false;
+        while (true) {
+            int index = (int) (dequeuePosition & mask);
+            if (sequences.get(index) != dequeuePosition + 1) {
+                return any;
+            }
+            Slot slot = slots[index];
+            try {
+                Logger.emit(slot.target, slot.level, slot.pattern, slot.argc, slot.arg1, slot.arg2, slot.args);
+            } catch (RuntimeException e) {
+                // a failing toString() or appender must not stop the writer
+            }
+            slot.target = null;
+            slot.pattern = null;
+            slot.arg1 = null;
+            slot.arg2 = null;
+            slot.args = null;
+            sequences.set(index, dequeuePosition + slots.length);
+            dequeuePosition++;
+            written.lazySet(dequeuePosition);
+            any = true;
+        }
+    }
+
+    private void reportDropped() {
+        long total = dropped.sum();
+        if (total > droppedReported) {
+            org.slf4j.LoggerFactory.getLogger(AsyncLogWriter.class)
+                    .warn("Log buffer full: dropped {} events", total - droppedReported);
+            droppedReported = total;
+        }
+    }
+
+    private static void backoff(int spins) {
+        if (spins < 64) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(10_000);
+        }
+    }
+}
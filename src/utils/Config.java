@@ -1,3 +1,5 @@
+package utils;
+
 import io.github.cdimascio.dotenv.Dotenv;
 
 /**
@@ -12,6 +14,54 @@ public class Config {
     public static final String CROSSMINT_BASE_URL = getenv("CROSSMINT_BASE_URL", "https://staging.crossmint.com");
     public static final String NETWORK = getenv("NETWORK", "base-sepolia");
     public static final String LOG_LEVEL = getenv("LOG_LEVEL", "info");
+    public static final boolean LOG_ASYNC = Boolean.parseBoolean(getenv("LOG_ASYNC", "false"));
+    public static final int LOG_BUFFER_SIZE = getenvInt("LOG_BUFFER_SIZE", 8192);
+    public static final String LOG_OVERFLOW = getenv("LOG_OVERFLOW", "drop");
+    public static final boolean VIRTUAL_THREADS = Boolean.parseBoolean(getenv("VIRTUAL_THREADS", "true"));
+    public static final boolean VERIFY_SIGNATURES = Boolean.parseBoolean(getenv("VERIFY_SIGNATURES", "true"));
+
+    public static final int HTTP_MAX_REQUESTS = getenvInt("HTTP_MAX_REQUESTS", 1024);
+    public static final int HTTP_MAX_REQUESTS_PER_HOST = getenvInt("HTTP_MAX_REQUESTS_PER_HOST", 256);
+    public static final int HTTP_MAX_IDLE_CONNECTIONS = getenvInt("HTTP_MAX_IDLE_CONNECTIONS", 32);
+    public static final int HTTP_KEEP_ALIVE_SECONDS = getenvInt("HTTP_KEEP_ALIVE_SECONDS", 300);
+    public static final int HTTP_CONNECT_TIMEOUT_MS = getenvInt("HTTP_CONNECT_TIMEOUT_MS", 5000);
+    public static final int HTTP_READ_TIMEOUT_MS = getenvInt("HTTP_READ_TIMEOUT_MS", 30000);
+    public static final boolean HTTP2 = Boolean.parseBoolean(getenv("HTTP2", "true"));
+    public static final int HTTP_PREWARM_CONNECTIONS = getenvInt("HTTP_PREWARM_CONNECTIONS", 4);
+    public static final int RETRY_MAX_ATTEMPTS = getenvInt("RETRY_MAX_ATTEMPTS", 4);
+    public static final int CONCURRENCY_LIMIT_INITIAL = getenvInt("CONCURRENCY_LIMIT_INITIAL", 32);
+    public static final int CONCURRENCY_LIMIT_MAX = getenvInt("CONCURRENCY_LIMIT_MAX", 512);
+
+    public static final int LOAD_FLOWS = getenvInt("LOAD_FLOWS", 100);
+    public static final int LOAD_CONCURRENCY = getenvInt("LOAD_CONCURRENCY", 50);
+    public static final double LOAD_RATE = Double.parseDouble(getenv("LOAD_RATE", "0"));
+    public static final int LOAD_REPORT_INTERVAL_SECONDS = getenvInt("LOAD_REPORT_INTERVAL_SECONDS", 10);
+
+    public static final boolean LOAD_STANDIN = Boolean.parseBoolean(getenv("LOAD_STANDIN", "false"));
+
+    public static final int STANDIN_PORT = getenvInt("STANDIN_PORT", 8787);
+    public static final int STANDIN_LATENCY_MEDIAN_MS = getenvInt("STANDIN_LATENCY_MEDIAN_MS", 80);
+    public static final int STANDIN_LATENCY_P99_MS = getenvInt("STANDIN_LATENCY_P99_MS", 400);
+    public static final double STANDIN_THROTTLE_RATE = Double.parseDouble(getenv("STANDIN_THROTTLE_RATE", "0"));
+    public static final double STANDIN_SERVER_ERROR_RATE = Double.parseDouble(getenv("STANDIN_SERVER_ERROR_RATE", "0"));
+    public static final double STANDIN_FAILURE_RATE = Double.parseDouble(getenv("STANDIN_FAILURE_RATE", "0"));
+    public static final int STANDIN_FUND_MS = getenvInt("STANDIN_FUND_MS", 1000);
+    public static final int STANDIN_CONFIRM_MS = getenvInt("STANDIN_CONFIRM_MS", 3000);
+    public static final String STANDIN_WEBHOOK_URL = getenv("STANDIN_WEBHOOK_URL", "");
+
+    public static final String WEBHOOK_SECRET = getenv("WEBHOOK_SECRET", "");
+    public static final String WEBHOOK_HOST = getenv("WEBHOOK_HOST", "127.0.0.1");
+    public static final int WEBHOOK_PORT = getenvInt("WEBHOOK_PORT", 8788);
+    public static final int WEBHOOK_QUEUE_SIZE = getenvInt("WEBHOOK_QUEUE_SIZE", 65536);
+    public static final int WEBHOOK_FALLBACK_SECONDS = getenvInt("WEBHOOK_FALLBACK_SECONDS", 30);
+
+    public static final String PROVISION_JOURNAL = getenv("PROVISION_JOURNAL", "");
+
+    public static final int PAYOUT_CONCURRENCY = getenvInt("PAYOUT_CONCURRENCY", 64);
+    public static final String PAYOUT_WALLET = getenv("PAYOUT_WALLET", "");
+    public static final String PAYOUT_SIGNER_KEY = getenv("PAYOUT_SIGNER_KEY", "");
+    public static final String PAYOUT_BATCH_ID = getenv("PAYOUT_BATCH_ID", "");
+    public static final String PAYOUT_JOURNAL = getenv("PAYOUT_JOURNAL", "");
 
     public static final String DEMO_RECIPIENT_ADDRESS = getenv("DEMO_RECIPIENT_ADDRESS", "0x6671f7552df0fbAF762Bd40aEd1cA3ec670d6161");
     public static final String DEMO_AMOUNT_USDXM = getenv("DEMO_AMOUNT_USDXM", "1");
@@ -24,4 +74,8 @@ public class Config {
         }
         return val == null || val.isEmpty() ? fallback : val;
     }
+
+    private static int getenvInt(String key, int fallback) {
+        return Integer.parseInt(getenv(key, Integer.toString(fallback)));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lowercase hex encoding and decoding into caller-provided buffers.
+ * The core methods do not allocate; the {@code String} helpers allocate only the result.
+ */
+public final class Hex {
+    private static final byte[] DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private Hex() {
+    }
+
+    /**
+     * Writes {@code length} bytes of {@code src} as {@code 2 * length} ASCII hex digits into {@code dst}.
+     *
+     * @return position in {@code dst} after the last digit written
+     */
+    public static int encode(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) {
+        for (int i = 0; i < length; i++) {
+            int b = src[srcOffset + i] & 0xFF;
+            dst[dstOffset++] = DIGITS[b >>> 4];
+            dst[dstOffset++] = DIGITS[b & 0xF];
+        }
+        return dstOffset;
+    }
+
+    /**
+     * Encodes {@code src[offset, offset + length)} as a {@code 0x}-prefixed hex string.
+     */
+    public static String toPrefixedHex(byte[] src, int offset, int length) {
+        byte[] out = new byte[2 + 2 * length];
+        out[0] = '0';
+        out[1] = 'x';
+        encode(src, offset, length, out, 2);
+        return new String(out, StandardCharsets.ISO_8859_1);
+    }
+
+    public static String toPrefixedHex(byte[] src) {
+        return toPrefixedHex(src, 0, src.length);
+    }
+
+    /**
+     * Number of bytes encoded by {@code hex}, ignoring an optional {@code 0x} prefix.
+     * An odd digit count is treated as having an implicit leading zero.
+     */
+    public static int decodedLength(CharSequence hex) {
+        int digits = hex.length() - prefixLength(hex);
+        return (digits + 1) / 2;
+    }
+
+    /**
+     * Decodes {@code hex} (optionally {@code 0x}-prefixed) into {@code dst} starting at {@code dstOffset}.
+     *
+     * @return number of bytes written
+     * @throws IllegalArgumentException on a non-hex character
+     */
+    public static int decode(CharSequence hex, byte[] dst, int dstOffset) {
+        int i = prefixLength(hex);
+        int n = hex.length();
+        int written = 0;
+        if (((n - i) & 1) != 0) {
+            dst[dstOffset + written++] = (byte) digit(hex, i++);
+        }
+        for (; i < n; i += 2) {
+            dst[dstOffset + written++] = (byte) ((digit(hex, i) << 4) | digit(hex, i + 1));
+        }
+        return written;
+    }
+
+    public static byte[] decode(CharSequence hex) {
+        byte[] out = new byte[decodedLength(hex)];
+        decode(hex, out, 0);
+        return out;
+    }
+
+    private static int prefixLength(CharSequence hex) {
+        return hex.length() >= 2 && hex.charAt(0) == '0' && (hex.charAt(1) == 'x' || hex.charAt(1) == 'X') ? 2 : 0;
+    }
+
+    private static int digit(CharSequence hex, int index) {
+        char c = hex.charAt(index);
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        throw new IllegalArgumentException("Invalid hex character '" + c + "' at index " + index);
+    }
+}
@@ -1,36 +1,222 @@
+package utils;
 
 import org.slf4j.LoggerFactory;
 
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Simple logging wrapper around SLF4J with convenience methods.
+ * The level check ({@code LOG_LEVEL}) comes before any formatting, and the zero-, one- and two-argument overloads
+ * avoid the varargs array, so disabled statements cost a field read. With {@code LOG_ASYNC=true} events are
+ * handed to {@link AsyncLogWriter} and written by a background thread instead of the caller.
  */
 public class Logger {
+    /**
+     * Levels from most to least severe; a logger prints a level when it is at or above the threshold.
+     */
+    public enum Level { ERROR, WARN, INFO, DEBUG }
+
+    private static final String SUCCESS_PREFIX = "✅ ";
+    private static final int MAX_CACHED_PATTERNS = 1024;
+    private static final Level THRESHOLD;
+    private static final AsyncLogWriter ASYNC;
+    private static final Map<String, String> successPatterns = new ConcurrentHashMap<>();
+
+    static {
+        THRESHOLD = parseLevel(Config.LOG_LEVEL);
+        // slf4j-simple reads its level once, when the first logger is created; an explicit -D setting wins
+        if (System.getProperty("org.slf4j.simpleLogger.defaultLogLevel") == null) {
+            System.setProperty("org.slf4j.simpleLogger.defaultLogLevel", THRESHOLD.name().toLowerCase(Locale.ROOT));
+        }
+        ASYNC = Config.LOG_ASYNC
+                ? new AsyncLogWriter(Config.LOG_BUFFER_SIZE, "block".equalsIgnoreCase(Config.LOG_OVERFLOW))
+                : null;
+    }
+
     private final org.slf4j.Logger logger;
+    private final boolean errorEnabled;
+    private final boolean warnEnabled;
+    private final boolean infoEnabled;
+    private final boolean debugEnabled;
 
     public Logger(Class<?> clazz) {
         logger = LoggerFactory.getLogger(clazz);
+        errorEnabled = enabled(Level.ERROR) && logger.isErrorEnabled();
+        warnEnabled = enabled(Level.WARN) && logger.isWarnEnabled();
+        infoEnabled = enabled(Level.INFO) && logger.isInfoEnabled();
+        debugEnabled = enabled(Level.DEBUG) && logger.isDebugEnabled();
+    }
+
+    public boolean isInfoEnabled() {
+        return infoEnabled;
+    }
+
+    public boolean isDebugEnabled() {
+        return debugEnabled;
+    }
+
+    public void error(String msg) {
+        if (errorEnabled) log(Level.ERROR, msg, 0, null, null, null);
+    }
+    public void error(String msg, Object arg) {
+        if (errorEnabled) log(Level.ERROR, msg, 1, arg, null, null);
+    }
+    public void error(String msg, Object arg1, Object arg2) {
+        if (errorEnabled) log(Level.ERROR, msg, 2, arg1, arg2, null);
+    }
+    public void error(String msg, Object... args) {
+        if (errorEnabled) log(Level.ERROR, msg, -1, null, null, args);
+    }
+
+    public void warn(String msg) {
+        if (warnEnabled) log(Level.WARN, msg, 0, null, null, null);
+    }
+    public void warn(String msg, Object arg) {
+        if (warnEnabled) log(Level.WARN, msg, 1, arg, null, null);
+    }
+    public void warn(String msg, Object arg1, Object arg2) {
+        if (warnEnabled) log(Level.WARN, msg, 2, arg1, arg2, null);
+    }
+    public void warn(String msg, Object... args) {
+        if (warnEnabled) log(Level.WARN, msg, -1, null, null, args);
+    }
+
+    public void info(String msg) {
+        if (infoEnabled) log(Level.INFO, msg, 0, null, null, null);
+    }
+    public void info(String msg, Object arg) {
+        if (infoEnabled) log(Level.INFO, msg, 1, arg, null, null);
+    }
+    public void info(String msg, Object arg1, Object arg2) {
+        if (infoEnabled) log(Level.INFO, msg, 2, arg1, arg2, null);
+    }
+    public void info(String msg, Object... args) {
+        if (infoEnabled) log(Level.INFO, msg, -1, null, null, args);
     }
 
-    public void error(String msg, Object... args) { 
-        logger.error(msg, args); 
+    public void debug(String msg) {
+        if (debugEnabled) log(Level.DEBUG, msg, 0, null, null, null);
     }
-    public void warn(String msg, Object... args) { 
-        logger.warn(msg, args); 
+    public void debug(String msg, Object arg) {
+        if (debugEnabled) log(Level.DEBUG, msg, 1, arg, null, null);
     }
-    public void info(String msg, Object... args) { 
-        logger.info(msg, args); 
+    public void debug(String msg, Object arg1, Object arg2) {
+        if (debugEnabled) log(Level.DEBUG, msg, 2, arg1, arg2, null);
     }
-    public void debug(String msg, Object... args) { 
-        logger.debug(msg, args); 
+    public void debug(String msg, Object... args) {
+        if (debugEnabled) log(Level.DEBUG, msg, -1, null, null, args);
     }
 
-    public void success(String msg, Object... args) { 
-        logger.info("✅ " + msg, args); 
+    public void success(String msg) {
+        if (infoEnabled) log(Level.INFO, successPattern(msg), 0, null, null, null);
+    }
+    public void success(String msg, Object arg) {
+        if (infoEnabled) log(Level.INFO, successPattern(msg), 1, arg, null, null);
+    }
+    public void success(String msg, Object arg1, Object arg2) {
+        if (infoEnabled) log(Level.INFO, successPattern(msg), 2, arg1, arg2, null);
+    }
+    public void success(String msg, Object... args) {
+        if (infoEnabled) log(Level.INFO, successPattern(msg), -1, null, null, args);
     }
-    
+
     public void step(int stepNumber, int totalSteps, String message, Object... args) {
-        logger.info("\nStep " + stepNumber + "/" + totalSteps + ": " + message, args);
+        if (infoEnabled) log(Level.INFO, "\nStep " + stepNumber + "/" + totalSteps + ": " + message, -1, null, null, args);
     }
-}
 
+    /**
+     * Waits until queued events have been written; a no-op unless logging is asynchronous.
+     */
+    public static void flush() {
+        if (ASYNC != null) {
+            ASYNC.flush();
+        }
+    }
+
+    /**
+     * Events dropped because the async buffer was full.
+     */
+    public static long droppedCount() {
+        return ASYNC != null ? ASYNC.droppedCount() : 0;
+    }
 
+    static Level parseLevel(String level) {
+        return switch (level.trim().toLowerCase(Locale.ROOT)) {
+            case "error" -> Level.ERROR;
+            case "warn", "warning" -> Level.WARN;
+            case "debug", "trace" -> Level.DEBUG;
+            default -> Level.INFO;
+        };
+    }
+
+    private static boolean enabled(Level level) {
+        return level.ordinal() <= THRESHOLD.ordinal();
+    }
+
+    /**
+     * Messages passed to {@link #success} are literals, so the prefixed pattern is built once per call site.
+     */
+    private static String successPattern(String msg) {
+        String pattern = successPatterns.get(msg);
+        if (pattern == null) {
+            pattern = SUCCESS_PREFIX + msg;
+            if (successPatterns.size() < MAX_CACHED_PATTERNS) {
+                successPatterns.put(msg, pattern);
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * @param argc number of arguments in {@code arg1}/{@code arg2}, or -1 when they are in {@code args}
+     */
+    private void log(Level level, String pattern, int argc, Object arg1, Object arg2, Object[] args) {
+        if (ASYNC != null) {
+            ASYNC.offer(logger, level, pattern, argc, arg1, arg2, args);
+        } else {
+            emit(logger, level, pattern, argc, arg1, arg2, args);
+        }
+    }
+
+    /**
+     * Writes one event to SLF4J; runs on the caller's thread, or on the writer thread in async mode.
+     */
+    static void emit(org.slf4j.Logger target, Level level, String pattern, int argc, Object arg1, Object arg2, Object[] args) {
+        switch (level) {
+            case ERROR -> {
+                switch (argc) {
+                    case 0 -> target.error(pattern);
+                    case 1 -> target.error(pattern, arg1);
+                    case 2 -> target.error(pattern, arg1, arg2);
+                    default -> target.error(pattern, args);
+                }
+            }
+            case WARN -> {
+                switch (argc) {
+                    case 0 -> target.warn(pattern);
+                    case 1 -> target.warn(pattern, arg1);
+                    case 2 -> target.warn(pattern, arg1, arg2);
+                    default -> target.warn(pattern, args);
+                }
+            }
+            case INFO -> {
+                switch (argc) {
+                    case 0 -> target.info(pattern);
+                    case 1 -> target.info(pattern, arg1);
+                    case 2 -> target.info(pattern, arg1, arg2);
+                    default -> target.info(pattern, args);
+                }
+            }
+            case DEBUG -> {
+                switch (argc) {
+                    case 0 -> target.debug(pattern);
+                    case 1 -> target.debug(pattern, arg1);
+                    case 2 -> target.debug(pattern, arg1, arg2);
+                    default -> target.debug(pattern, args);
+                }
+            }
+        }
+    }
+}